@@ -2,8 +2,10 @@ package com.blog;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class BlogBackendApplication {
     public static void main(String[] args) {
         SpringApplication.run(BlogBackendApplication.class, args);
@@ -0,0 +1,39 @@
+package com.blog.config;
+
+import org.hibernate.boot.model.FunctionContributions;
+import org.hibernate.boot.model.FunctionContributor;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.type.BasicTypeRegistry;
+import org.hibernate.type.StandardBasicTypes;
+
+/**
+ * Fonctions HQL de recherche plein texte sur la colonne générée articles.search_vector
+ * (non mappée dans l'entité). Enregistrées uniquement sous PostgreSQL : sur les autres
+ * bases, ArticlePredicate garde le filtre LIKE.
+ */
+public class FullTextFunctionContributor implements FunctionContributor {
+
+    public static final String FTS_MATCH = "fts_match";
+    public static final String FTS_RANK  = "fts_rank";
+
+    private static final String TS_QUERY = "websearch_to_tsquery('french', ?2)";
+
+    @Override
+    public void contributeFunctions(FunctionContributions contributions) {
+        if (!(contributions.getDialect() instanceof PostgreSQLDialect)) return;
+
+        BasicTypeRegistry types = contributions.getTypeConfiguration().getBasicTypeRegistry();
+
+        // fts_match(article.id, :keyword) — semi-jointure servie par l'index GIN
+        contributions.getFunctionRegistry().registerPattern(
+                FTS_MATCH,
+                "?1 in (select fts.id from articles fts where fts.search_vector @@ " + TS_QUERY + ")",
+                types.resolve(StandardBasicTypes.BOOLEAN));
+
+        // fts_rank(article.id, :keyword) — score de pertinence pondéré titre > résumé > contenu
+        contributions.getFunctionRegistry().registerPattern(
+                FTS_RANK,
+                "(select ts_rank_cd(fts.search_vector, " + TS_QUERY + ") from articles fts where fts.id = ?1)",
+                types.resolve(StandardBasicTypes.DOUBLE));
+    }
+}
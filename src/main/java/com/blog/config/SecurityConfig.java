@@ -48,6 +48,7 @@ public class SecurityConfig {
                         .requestMatchers(PUBLIC_URLS).permitAll()
                         .requestMatchers(HttpMethod.GET,  ApiRoutes.ARTICLES + "/**").permitAll()
                         .requestMatchers(HttpMethod.GET, ApiRoutes.COMMENTS + "/**").permitAll()
+                        .requestMatchers(HttpMethod.GET, ApiRoutes.TAGS, ApiRoutes.TAGS + "/**").permitAll()
                         .requestMatchers(HttpMethod.POST, ApiRoutes.API + "/articles/*/comments")
                         .authenticated()
                         .requestMatchers(HttpMethod.PUT, ApiRoutes.COMMENTS + "/**")
@@ -60,7 +61,7 @@ public class SecurityConfig {
                         .hasAnyRole("AUTHOR", "ADMIN")
                         .requestMatchers(HttpMethod.DELETE, ApiRoutes.ARTICLES + "/**")
                         .hasAnyRole("AUTHOR", "ADMIN")
-                        .requestMatchers("/api/admin/**").hasRole("ADMIN")
+                        .requestMatchers(ApiRoutes.ADMIN + "/**").hasRole("ADMIN")
                         .anyRequest().authenticated()
                 )
                 .sessionManagement(session ->
@@ -14,6 +14,11 @@ public final class ApiRoutes {
     public static final String ARTICLES_AUTHOR = "/author/{authorId}";
     public static final String ARTICLES_SEARCH = "/search";
     public static final String ARTICLES_COVER  = "/{id}/cover-image";
+    public static final String ARTICLES_TRENDING = "/trending";
+    public static final String ARTICLES_RELATED  = "/{id}/related";
+
+    // Tags
+    public static final String TAGS = API + "/tags";
 
     // Auth
     public static final String AUTH          = API + "/auth";
@@ -24,4 +29,16 @@ public final class ApiRoutes {
     public static final String COMMENTS         = API + "/comments";
     public static final String COMMENTS_ID      = "/comments/{commentId}";
     public static final String ARTICLE_COMMENTS = "/articles/{articleId}/comments";
+    public static final String COMMENT_THREADS  = "/articles/{articleId}/comments/threads";
+    public static final String COMMENT_REPLIES  = "/comments/{commentId}/replies";
+
+    // Images (hors /api : URL publiques stockées sur les articles)
+    public static final String IMAGES = "/images";
+
+    // Administration
+    public static final String ADMIN        = API + "/admin";
+    public static final String ADMIN_CACHES = "/caches";
+    public static final String ADMIN_CACHE  = "/caches/{name}";
+    public static final String ADMIN_IMPORT = "/articles/import";
+    public static final String ADMIN_EXPORT = "/articles/export";
 }
\ No newline at end of file
@@ -0,0 +1,124 @@
+package com.blog.controller;
+
+import com.blog.constants.ApiRoutes;
+import com.blog.constants.SecuriteConstantes;
+import com.blog.dto.request.ArticleSearchFilter;
+import com.blog.dto.response.CacheStatsResponse;
+import com.blog.dto.response.ImportReportResponse;
+import com.blog.exception.ResourceNotFoundException;
+import com.blog.service.ArticleExportService;
+import com.blog.service.ArticleImportService;
+import com.blog.service.MonitoredCache;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springdoc.core.annotations.ParameterObject;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.ModelAttribute;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDate;
+import java.util.List;
+
+@Slf4j
+@RestController
+@RequestMapping(ApiRoutes.ADMIN)
+@RequiredArgsConstructor
+@PreAuthorize(SecuriteConstantes.ADMIN_SEULEMENT)
+@Tag(name = "Administration", description = "Opérations réservées aux administrateurs")
+public class AdminController {
+
+    private final List<MonitoredCache> caches;
+    private final ArticleImportService articleImportService;
+    private final ArticleExportService articleExportService;
+
+    @GetMapping(ApiRoutes.ADMIN_CACHES)
+    @Operation(summary = "Statistiques des caches applicatifs",
+               security = @SecurityRequirement(name = "bearerAuth"))
+    public ResponseEntity<List<CacheStatsResponse>> cacheStats() {
+        return ResponseEntity.ok(caches.stream().map(this::toResponse).toList());
+    }
+
+    @DeleteMapping(ApiRoutes.ADMIN_CACHES)
+    @Operation(summary = "Vider tous les caches applicatifs",
+               security = @SecurityRequirement(name = "bearerAuth"))
+    public ResponseEntity<Void> flushAll() {
+        caches.forEach(MonitoredCache::invalidateAll);
+        log.info("Tous les caches applicatifs ont été vidés");
+        return ResponseEntity.noContent().build();
+    }
+
+    @DeleteMapping(ApiRoutes.ADMIN_CACHE)
+    @Operation(summary = "Vider un cache applicatif par son nom",
+               security = @SecurityRequirement(name = "bearerAuth"))
+    public ResponseEntity<Void> flush(@PathVariable String name) {
+        MonitoredCache cache = caches.stream()
+                .filter(candidate -> candidate.name().equals(name))
+                .findFirst()
+                .orElseThrow(() -> new ResourceNotFoundException("Cache", "nom", name));
+        cache.invalidateAll();
+        log.info("Cache '{}' vidé", name);
+        return ResponseEntity.noContent().build();
+    }
+
+    @PostMapping(value = ApiRoutes.ADMIN_IMPORT, consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Importer des articles en masse (NDJSON, un article par ligne)",
+               security = @SecurityRequirement(name = "bearerAuth"))
+    public ResponseEntity<ImportReportResponse> importArticles(
+            InputStream body,
+            @RequestParam(required = false) Integer chunkSize,
+            @AuthenticationPrincipal UserDetails userDetails) {
+        return ResponseEntity.ok(articleImportService.importArticles(body, userDetails.getUsername(), chunkSize));
+    }
+
+    /**
+     * Écrit directement sur la sortie de la réponse : pas de limite de durée asynchrone,
+     * et une erreur en cours de route coupe le flux (l'en-tête est déjà parti).
+     */
+    @GetMapping(ApiRoutes.ADMIN_EXPORT)
+    @Operation(summary = "Exporter les articles avec tags et commentaires (ndjson ou csv)",
+               security = @SecurityRequirement(name = "bearerAuth"))
+    public void exportArticles(
+            @ParameterObject @ModelAttribute @Valid ArticleSearchFilter filter,
+            @RequestParam(defaultValue = "ndjson") String format,
+            HttpServletResponse response) throws IOException {
+        ArticleExportService.Format exportFormat = ArticleExportService.Format.of(format);
+
+        response.setContentType(exportFormat.contentType());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                .filename("articles-" + LocalDate.now() + "." + exportFormat.extension())
+                .build().toString());
+        articleExportService.export(filter, exportFormat, response.getOutputStream());
+    }
+
+    private CacheStatsResponse toResponse(MonitoredCache cache) {
+        CacheStats stats = cache.stats();
+        return CacheStatsResponse.builder()
+                .name(cache.name())
+                .size(cache.estimatedSize())
+                .hitCount(stats.hitCount())
+                .missCount(stats.missCount())
+                .hitRate(stats.hitRate())
+                .evictionCount(stats.evictionCount())
+                .build();
+    }
+}
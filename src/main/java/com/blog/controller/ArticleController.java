@@ -7,6 +7,9 @@ import com.blog.dto.request.ArticleSearchFilter;
 import com.blog.dto.request.PageParametres;
 import com.blog.dto.response.ArticleResponse;
 import com.blog.dto.response.PageResponse;
+import com.blog.dto.response.SliceResponse;
+import com.blog.repository.ArticleVersion;
+import com.blog.service.ArticleETags;
 import com.blog.service.ArticleService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -15,6 +18,7 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springdoc.core.annotations.ParameterObject;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -22,8 +26,12 @@ import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.InputStream;
+import java.util.List;
+
 @RestController
 @RequestMapping(ApiRoutes.ARTICLES)
 @RequiredArgsConstructor
@@ -35,14 +43,46 @@ public class ArticleController {
 
     @GetMapping(ApiRoutes.ARTICLES_ID)
     @Operation(summary = "Récupérer un article par ID")
-    public ResponseEntity<ArticleResponse> getById(@PathVariable Long id) {
-        return ResponseEntity.ok(articleService.getArticleById(id));
+    public ResponseEntity<ArticleResponse> getById(@PathVariable Long id, WebRequest webRequest) {
+        if (isConditional(webRequest)
+                && notModified(webRequest, articleService.getArticleVersion(id))) {
+            articleService.recordView(id);
+            return null;
+        }
+        ArticleResponse article = articleService.getArticleById(id);
+        articleService.recordView(id);
+        return withValidators(ResponseEntity.ok(), article);
     }
 
     @GetMapping(ApiRoutes.ARTICLES_SLUG)
     @Operation(summary = "Récupérer un article par slug (URL)")
-    public ResponseEntity<ArticleResponse> getBySlug(@PathVariable String slug) {
-        return ResponseEntity.ok(articleService.getArticleBySlug(slug));
+    public ResponseEntity<ArticleResponse> getBySlug(@PathVariable String slug, WebRequest webRequest) {
+        if (isConditional(webRequest)) {
+            ArticleVersion version = articleService.getArticleVersionBySlug(slug);
+            if (notModified(webRequest, version)) {
+                articleService.recordView(version.id());
+                return null;
+            }
+        }
+        ArticleResponse article = articleService.getArticleBySlug(slug);
+        articleService.recordView(article.getId());
+        return withValidators(ResponseEntity.ok(), article);
+    }
+
+    @GetMapping(ApiRoutes.ARTICLES_TRENDING)
+    @Operation(summary = "Articles publiés en tendance (vues et commentaires récents)")
+    public ResponseEntity<PageResponse<ArticleResponse>> getTrending(
+            @RequestParam(defaultValue = "0")  int page,
+            @RequestParam(defaultValue = "10") int size) {
+        return ResponseEntity.ok(articleService.getTrendingArticles(page, size));
+    }
+
+    @GetMapping(ApiRoutes.ARTICLES_RELATED)
+    @Operation(summary = "Articles publiés les plus proches par leurs tags (Jaccard, puis les plus récents)")
+    public ResponseEntity<List<ArticleResponse>> getRelated(
+            @PathVariable Long id,
+            @RequestParam(defaultValue = "5") int size) {
+        return ResponseEntity.ok(articleService.getRelatedArticles(id, size));
     }
 
     @GetMapping(ApiRoutes.ARTICLES_AUTHOR)
@@ -64,25 +104,39 @@ public class ArticleController {
         return articleService.searchArticles(filter, page);
     }
 
+    @GetMapping(value = ApiRoutes.ARTICLES_SEARCH, params = "cursor")
+    @Operation(summary = "Recherche d'articles par curseur (sans comptage total)",
+               description = "Passer cursor vide pour la première page, puis la valeur nextCursor reçue")
+    public SliceResponse<ArticleResponse> searchByCursor(
+            @ParameterObject @ModelAttribute @Valid ArticleSearchFilter filter,
+            @ParameterObject @ModelAttribute @Valid PageParametres page,
+            @RequestParam(defaultValue = "") String cursor) {
+
+        return articleService.searchArticlesByCursor(filter, cursor, page);
+    }
+
     @PostMapping
     @PreAuthorize(SecuriteConstantes.AUTEUR_OU_ADMIN)
     @Operation(summary = "Créer un article", security = @SecurityRequirement(name = "bearerAuth"))
     public ResponseEntity<ArticleResponse> create(
             @Valid @RequestBody ArticleRequest request,
             @AuthenticationPrincipal UserDetails userDetails) {
-        return ResponseEntity.status(HttpStatus.CREATED)
-                .body(articleService.createArticle(request, userDetails.getUsername()));
+        return withStrongValidator(ResponseEntity.status(HttpStatus.CREATED),
+                articleService.createArticle(request, userDetails.getUsername()));
     }
 
     @PutMapping("/{id}")
     @PreAuthorize(SecuriteConstantes.AUTEUR_OU_ADMIN)
-    @Operation(summary = "Modifier un article", security = @SecurityRequirement(name = "bearerAuth"))
+    @Operation(summary = "Modifier un article",
+               description = "If-Match optionnel : 412 si l'article a changé depuis la lecture",
+               security = @SecurityRequirement(name = "bearerAuth"))
     public ResponseEntity<ArticleResponse> update(
             @PathVariable Long id,
             @Valid @RequestBody ArticleRequest request,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @AuthenticationPrincipal UserDetails userDetails) {
-        return ResponseEntity.ok(
-                articleService.updateArticle(id, request, userDetails.getUsername()));
+        return withStrongValidator(ResponseEntity.ok(),
+                articleService.updateArticle(id, request, userDetails.getUsername(), ifMatch));
     }
 
     @DeleteMapping("/{id}")
@@ -111,6 +165,22 @@ public class ArticleController {
                 articleService.uploadCoverImage(id, image, userDetails.getUsername()));
     }
 
+    @PutMapping(value = ApiRoutes.ARTICLES_COVER,
+                consumes = {MediaType.IMAGE_JPEG_VALUE, MediaType.IMAGE_PNG_VALUE, MediaType.IMAGE_GIF_VALUE,
+                            "image/webp", MediaType.APPLICATION_OCTET_STREAM_VALUE})
+    @PreAuthorize(SecuriteConstantes.AUTEUR_OU_ADMIN)
+    @Operation(summary = "Uploader une image de couverture en flux (corps brut)",
+               description = "Format vérifié sur le contenu : JPEG, PNG, GIF, WEBP — Max : 5 MB",
+               security = @SecurityRequirement(name = "bearerAuth"))
+    public ResponseEntity<ArticleResponse> streamCoverImage(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.CONTENT_LENGTH, required = false) Long contentLength,
+            InputStream body,
+            @AuthenticationPrincipal UserDetails userDetails) {
+        return ResponseEntity.ok(articleService.uploadCoverImage(
+                id, body, contentLength == null ? -1 : contentLength, userDetails.getUsername()));
+    }
+
     @DeleteMapping(ApiRoutes.ARTICLES_COVER)
     @PreAuthorize(SecuriteConstantes.AUTEUR_OU_ADMIN)
     @Operation(summary = "Supprimer l'image de couverture",
@@ -121,4 +191,26 @@ public class ArticleController {
         return ResponseEntity.ok(
                 articleService.removeCoverImage(id, userDetails.getUsername()));
     }
+
+
+    // Sans en-tête conditionnel, la requête de version serait une lecture de plus
+    private static boolean isConditional(WebRequest webRequest) {
+        return webRequest.getHeader(HttpHeaders.IF_NONE_MATCH) != null;
+    }
+
+    // Positionne le statut 304 et les en-têtes ; le handler renvoie alors null
+    private static boolean notModified(WebRequest webRequest, ArticleVersion version) {
+        return webRequest.checkNotModified(ArticleETags.representation(version));
+    }
+
+    private static ResponseEntity<ArticleResponse> withValidators(
+            ResponseEntity.BodyBuilder builder, ArticleResponse article) {
+        return builder.eTag(ArticleETags.representation(ArticleETags.versionOf(article))).body(article);
+    }
+
+    // Réponses d'écriture : l'ETag fort, à renvoyer tel quel dans If-Match
+    private static ResponseEntity<ArticleResponse> withStrongValidator(
+            ResponseEntity.BodyBuilder builder, ArticleResponse article) {
+        return builder.eTag(ArticleETags.strong(ArticleETags.versionOf(article))).body(article);
+    }
 }
@@ -3,7 +3,9 @@ package com.blog.controller;
 import com.blog.constants.ApiRoutes;
 import com.blog.dto.request.CommentRequest;
 import com.blog.dto.response.CommentResponse;
+import com.blog.dto.response.CommentThreadResponse;
 import com.blog.dto.response.PageResponse;
+import com.blog.dto.response.SliceResponse;
 import com.blog.service.CommentService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
@@ -33,6 +35,34 @@ public class CommentController {
         return ResponseEntity.ok(commentService.getCommentsByArticle(articleId, page, size));
     }
 
+    @GetMapping(value = ApiRoutes.ARTICLE_COMMENTS, params = "cursor")
+    @Operation(summary = "Récupérer les commentaires d'un article par curseur (sans comptage total)")
+    public ResponseEntity<SliceResponse<CommentResponse>> getByArticleCursor(
+            @PathVariable Long articleId,
+            @RequestParam(defaultValue = "") String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(commentService.getCommentsByArticle(articleId, cursor, size));
+    }
+
+    @GetMapping(ApiRoutes.COMMENT_THREADS)
+    @Operation(summary = "Récupérer les fils de discussion d'un article (racines et premières réponses)")
+    public ResponseEntity<SliceResponse<CommentThreadResponse>> getThreads(
+            @PathVariable Long articleId,
+            @RequestParam(defaultValue = "") String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "3") int replies) {
+        return ResponseEntity.ok(commentService.getCommentThreads(articleId, cursor, size, replies));
+    }
+
+    @GetMapping(ApiRoutes.COMMENT_REPLIES)
+    @Operation(summary = "Déplier les réponses d'un commentaire (tous niveaux, en ordre de lecture)")
+    public ResponseEntity<SliceResponse<CommentResponse>> getReplies(
+            @PathVariable Long commentId,
+            @RequestParam(defaultValue = "") String cursor,
+            @RequestParam(defaultValue = "50") int size) {
+        return ResponseEntity.ok(commentService.getReplies(commentId, cursor, size));
+    }
+
     @PostMapping(ApiRoutes.ARTICLE_COMMENTS)
     @Operation(summary = "Ajouter un commentaire", security = @SecurityRequirement(name = "bearerAuth"))
     public ResponseEntity<CommentResponse> addComment(
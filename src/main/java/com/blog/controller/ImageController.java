@@ -0,0 +1,124 @@
+package com.blog.controller;
+
+import com.blog.constants.ApiRoutes;
+import com.blog.exception.ResourceNotFoundException;
+import com.blog.service.ImageContentCache;
+import com.blog.service.ImageFormat;
+import com.blog.service.ImageStorageService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Sert les images uploadées. Les noms étant uniques (hash du contenu ou UUID), les réponses
+ * sont cachables indéfiniment ; l'ETag est le nom du fichier.
+ *
+ * <p>Petits fichiers : depuis {@link ImageContentCache}. Gros fichiers sans Range : sendfile
+ * de Tomcat (copie noyau, sans passer par le tas). Les requêtes Range sont découpées par Spring.
+ */
+@RestController
+@RequestMapping(ApiRoutes.IMAGES)
+@RequiredArgsConstructor
+@Tag(name = "Images", description = "Accès aux images uploadées")
+public class ImageController {
+
+    private static final CacheControl IMMUTABLE =
+            CacheControl.maxAge(Duration.ofDays(365)).cachePublic().immutable();
+
+    private static final String SENDFILE_SUPPORT  = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START    = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END      = "org.apache.tomcat.sendfile.end";
+
+    private final ImageStorageService imageStorageService;
+    private final ImageContentCache imageContentCache;
+
+    @GetMapping("/{*path}")
+    @Operation(summary = "Récupérer une image (ETag, 304, Range)")
+    public ResponseEntity<Resource> get(@PathVariable String path,
+                                        WebRequest webRequest,
+                                        HttpServletRequest request,
+                                        HttpServletResponse response) throws IOException {
+        String relative = path.startsWith("/") ? path.substring(1) : path;
+        Path file = imageStorageService.resolveStored(relative);
+        if (!Files.isRegularFile(file)) {
+            throw new ResourceNotFoundException("Image", "chemin", relative);
+        }
+
+        String eTag = "\"" + stem(file) + "\"";
+        if (webRequest.checkNotModified(eTag)) {
+            response.setHeader(HttpHeaders.CACHE_CONTROL, IMMUTABLE.getHeaderValue());
+            return null;
+        }
+
+        long size      = Files.size(file);
+        MediaType type = mediaType(file);
+
+        if (imageContentCache.accepts(size)) {
+            return headers(eTag, type).body(new ByteArrayResource(imageContentCache.get(relative, file)));
+        }
+
+        if (canSendfile(request)) {
+            response.setContentType(type.toString());
+            response.setContentLengthLong(size);
+            response.setHeader(HttpHeaders.ETAG, eTag);
+            response.setHeader(HttpHeaders.CACHE_CONTROL, IMMUTABLE.getHeaderValue());
+            response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+            response.setHeader("X-Content-Type-Options", "nosniff");
+            request.setAttribute(SENDFILE_FILENAME, file.toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START, 0L);
+            request.setAttribute(SENDFILE_END, size);
+            return null;
+        }
+
+        return headers(eTag, type).body(new FileSystemResource(file));
+    }
+
+    // Range et HEAD restent à Spring ; sendfile n'envoie que le fichier entier
+    private static boolean canSendfile(HttpServletRequest request) {
+        return "GET".equals(request.getMethod())
+                && request.getHeader(HttpHeaders.RANGE) == null
+                && Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT));
+    }
+
+    private static ResponseEntity.BodyBuilder headers(String eTag, MediaType type) {
+        return ResponseEntity.ok()
+                .contentType(type)
+                .eTag(eTag)
+                .cacheControl(IMMUTABLE)
+                .header("X-Content-Type-Options", "nosniff");
+    }
+
+    private static String stem(Path file) {
+        String name = file.getFileName().toString();
+        int dotIndex = name.lastIndexOf('.');
+        return dotIndex >= 0 ? name.substring(0, dotIndex) : name;
+    }
+
+    private static MediaType mediaType(Path file) {
+        String name = file.getFileName().toString();
+        String extension = name.substring(name.lastIndexOf('.') + 1).toLowerCase();
+        return ImageFormat.fromExtension(extension)
+                .map(format -> MediaType.parseMediaType(format.contentType()))
+                .orElse(MediaType.APPLICATION_OCTET_STREAM);
+    }
+}
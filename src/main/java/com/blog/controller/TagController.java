@@ -0,0 +1,32 @@
+package com.blog.controller;
+
+import com.blog.constants.ApiRoutes;
+import com.blog.dto.response.TagResponse;
+import com.blog.service.TagStatistics;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping(ApiRoutes.TAGS)
+@RequiredArgsConstructor
+@Tag(name = "Tags", description = "Nuage de tags")
+public class TagController {
+
+    private final TagStatistics tagStatistics;
+
+    @GetMapping
+    @Operation(summary = "Tags les plus utilisés, avec nombre d'articles publiés et dernière utilisation")
+    public ResponseEntity<List<TagResponse>> getTags(
+            @RequestParam(defaultValue = "100") int limit,
+            @RequestParam(defaultValue = "1") int minCount) {
+        return ResponseEntity.ok(tagStatistics.getTagCloud(limit, minCount));
+    }
+}
@@ -10,4 +10,7 @@ public class CommentRequest {
     @NotBlank(message = "Le contenu du commentaire est obligatoire")
     @Size(min = 2, max = 2000, message = "Le commentaire doit contenir entre 2 et 2000 caractères")
     private String content;
+
+    // Réponse à un commentaire du même article (null : commentaire racine)
+    private Long parentId;
 }
@@ -19,7 +19,7 @@ public record PageParametres(
         @DefaultValue("10")
         Integer taille,
 
-        @Parameter(description = "Champ de tri")
+        @Parameter(description = "Champ de tri (relevance : pertinence plein texte, avec keyword)")
         @DefaultValue("createdAt")
         String trierPar ){
     public PageParametres {
@@ -27,7 +27,7 @@ public record PageParametres(
         if (taille == null || taille < 1)  taille = 10;
         if (taille > 100)                  taille = 100;
 
-        Set<String> champsAutorises = Set.of("createdAt", "updatedAt", "title", "published");
+        Set<String> champsAutorises = Set.of("createdAt", "updatedAt", "title", "published", "relevance");
         if (trierPar == null || !champsAutorises.contains(trierPar)) {
             trierPar = "createdAt";
         }
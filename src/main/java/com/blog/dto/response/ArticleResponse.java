@@ -7,7 +7,7 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 @Data
-@Builder
+@Builder(toBuilder = true)
 public class ArticleResponse {
     private Long id;
     private String title;
@@ -16,9 +16,12 @@ public class ArticleResponse {
     private String summary;
     private boolean published;
     private String coverImageUrl;
+    private List<ImageVariantResponse> coverVariants;
     private UserResponse author;
     private List<String> tags;
     private int commentCount;
+    private long viewCount;
+    private Long version;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
 }
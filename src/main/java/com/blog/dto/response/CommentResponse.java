@@ -12,6 +12,8 @@ public class CommentResponse {
     private String content;
     private UserResponse author;
     private Long articleId;
+    private Long parentId;
+    private int depth;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
 }
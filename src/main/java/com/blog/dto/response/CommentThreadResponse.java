@@ -0,0 +1,15 @@
+package com.blog.dto.response;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+/** Commentaire racine et ses premières réponses, en ordre de parcours (à imbriquer via parentId). */
+@Data
+@Builder
+public class CommentThreadResponse {
+    private CommentResponse comment;
+    private List<CommentResponse> replies;
+    private boolean hasMoreReplies;
+}
@@ -0,0 +1,13 @@
+package com.blog.dto.response;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class ImageVariantResponse {
+    private String name;
+    private String url;
+    private int width;
+    private int height;
+}
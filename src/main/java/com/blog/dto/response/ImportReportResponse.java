@@ -0,0 +1,25 @@
+package com.blog.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@Builder
+public class ImportReportResponse {
+    private long lines;
+    private long imported;
+    private long failed;
+    private long durationMs;
+    private boolean errorsTruncated;
+    private List<RecordError> errors;
+
+    @Data
+    @AllArgsConstructor
+    public static class RecordError {
+        private long line;
+        private String message;
+    }
+}
@@ -0,0 +1,15 @@
+package com.blog.dto.response;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+public class TagResponse {
+    private Long id;
+    private String name;
+    private int publishedArticleCount;
+    private LocalDateTime lastUsedAt;
+}
@@ -2,6 +2,8 @@ package com.blog.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -33,6 +35,26 @@ public class Article extends TraceableEntity {
     @Column(name = "cover_image_url", length = 500)
     private String coverImageUrl;
 
+    // Renseigné en arrière-plan par CoverImageVariantService ; null tant que seul l'original existe.
+    // Écrit par UPDATE ciblé (ArticleRepository.updateCoverVariants), jamais par le dirty checking
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(name = "cover_variants", columnDefinition = "jsonb", updatable = false)
+    private List<ImageVariant> coverVariants;
+
+    // Maintenu par CommentServiceImpl via un UPDATE atomique, jamais par le dirty checking
+    @Column(name = "comment_count", nullable = false, updatable = false)
+    @Builder.Default
+    private int commentCount = 0;
+
+    // Incrémenté en masse par ArticleViewCounter
+    @Column(name = "view_count", nullable = false, updatable = false)
+    @Builder.Default
+    private long viewCount = 0;
+
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "author_id", nullable = false)
     private User author;
@@ -22,4 +22,20 @@ public class Comment extends TraceableEntity {
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "author_id", nullable = false)
     private User author;
+
+    // null pour un commentaire racine
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "parent_id", updatable = false)
+    private Comment parent;
+
+    @Column(nullable = false, updatable = false)
+    private int depth;
+
+    // Chemin du parent ; path (généré par la base) y ajoute l'id du commentaire
+    @Column(name = "parent_path", nullable = false, updatable = false, length = 500)
+    @Builder.Default
+    private String parentPath = "";
+
+    @Column(insertable = false, updatable = false, length = 500)
+    private String path;
 }
@@ -0,0 +1,6 @@
+package com.blog.entity;
+
+/**
+ * Déclinaison redimensionnée d'une image, stockée en JSON sur l'article.
+ */
+public record ImageVariant(String name, String url, int width, int height) {}
@@ -3,6 +3,7 @@ package com.blog.entity;
 import jakarta.persistence.*;
 import lombok.*;
 
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -22,6 +23,13 @@ public class Tag {
     @Column(nullable = false, unique = true, length = 50)
     private String name;
 
+    // Maintenus en SQL par TagStatistics, jamais écrits par Hibernate
+    @Column(name = "published_article_count", insertable = false, updatable = false)
+    private int publishedArticleCount;
+
+    @Column(name = "last_used_at", insertable = false, updatable = false)
+    private LocalDateTime lastUsedAt;
+
     @ManyToMany(mappedBy = "tags")
     @Builder.Default
     private List<Article> articles = new ArrayList<>();
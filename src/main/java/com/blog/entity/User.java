@@ -1,5 +1,6 @@
 package com.blog.entity;
 
+import com.blog.event.UserEntityListener;
 import jakarta.persistence.*;
 import lombok.*;
 import org.springframework.security.core.GrantedAuthority;
@@ -12,6 +13,7 @@ import java.util.List;
 
 @Entity
 @Table(name = "users")
+@EntityListeners(UserEntityListener.class)
 @Getter
 @Setter
 @Builder
@@ -35,6 +37,10 @@ public class User extends TraceableEntity implements UserDetails {
     @Column(nullable = false)
     private boolean enabled;
 
+    @Column(name = "security_version", nullable = false)
+    @Builder.Default
+    private int securityVersion = 0;
+
 
     @OneToMany(mappedBy = "author", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     @Builder.Default
@@ -45,6 +51,23 @@ public class User extends TraceableEntity implements UserDetails {
     private List<Comment> comments;
 
 
+    // Les setters sensibles incrémentent securityVersion : les JWT sans état émis avant sont refusés
+
+    public void setRole(Role role) {
+        if (this.role != null && this.role != role) securityVersion++;
+        this.role = role;
+    }
+
+    public void setPassword(String password) {
+        if (this.password != null && !this.password.equals(password)) securityVersion++;
+        this.password = password;
+    }
+
+    public void setEnabled(boolean enabled) {
+        if (this.enabled != enabled) securityVersion++;
+        this.enabled = enabled;
+    }
+
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
         return List.of(new SimpleGrantedAuthority("ROLE_" + role.name()));
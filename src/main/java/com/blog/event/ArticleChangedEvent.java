@@ -0,0 +1,40 @@
+package com.blog.event;
+
+import com.blog.entity.Article;
+import com.blog.entity.Tag;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Publié par ArticleServiceImpl ; les écouteurs s'abonnent en AFTER_COMMIT
+ * et reçoivent une copie détachée de l'article.
+ */
+public record ArticleChangedEvent(
+        Type type,
+        Long articleId,
+        String slug,
+        String title,
+        String summary,
+        String content,
+        List<String> tags,
+        boolean published,
+        LocalDateTime createdAt
+) {
+
+    // COVER_CHANGED : seule l'image de couverture change, le texte indexé est intact
+    public enum Type { CREATED, UPDATED, DELETED, COVER_CHANGED }
+
+    public static ArticleChangedEvent of(Type type, Article article) {
+        return new ArticleChangedEvent(
+                type,
+                article.getId(),
+                article.getSlug(),
+                article.getTitle(),
+                article.getSummary(),
+                article.getContent(),
+                article.getTags().stream().map(Tag::getName).toList(),
+                article.isPublished(),
+                article.getCreatedAt());
+    }
+}
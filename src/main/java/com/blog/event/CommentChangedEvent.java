@@ -0,0 +1,9 @@
+package com.blog.event;
+
+/**
+ * Publié à l'ajout ou à la suppression d'un commentaire : le compteur de l'article a changé.
+ */
+public record CommentChangedEvent(Long articleId, Type type) {
+
+    public enum Type { ADDED, DELETED }
+}
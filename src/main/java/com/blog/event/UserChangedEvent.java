@@ -0,0 +1,6 @@
+package com.blog.event;
+
+/**
+ * Publié à chaque mise à jour ou suppression d'un utilisateur (rôle, mot de passe, activation...).
+ */
+public record UserChangedEvent(Long userId) {}
@@ -0,0 +1,25 @@
+package com.blog.event;
+
+import com.blog.entity.User;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+/**
+ * Relaie les callbacks JPA de {@link User} en événements Spring : les caches
+ * d'utilisateurs sont invalidés quel que soit le service à l'origine de la modification.
+ */
+@Component
+@RequiredArgsConstructor
+public class UserEntityListener {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    @PostUpdate
+    @PostRemove
+    public void onChange(User user) {
+        eventPublisher.publishEvent(new UserChangedEvent(user.getId()));
+    }
+}
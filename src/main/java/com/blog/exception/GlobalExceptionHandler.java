@@ -2,6 +2,8 @@ package com.blog.exception;
 
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
@@ -35,6 +37,21 @@ public class GlobalExceptionHandler {
         return buildResponse(HttpStatus.CONFLICT, ex.getMessage(), request, null);
     }
 
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<ApiError> handleOptimisticLock(
+            OptimisticLockingFailureException ex, HttpServletRequest request) {
+        log.warn("Modification concurrente: {}", ex.getMessage());
+        return buildResponse(HttpStatus.CONFLICT,
+                "La ressource a été modifiée simultanément, rechargez-la avant de réessayer", request, null);
+    }
+
+    // --- 412 Precondition Failed ---
+    @ExceptionHandler(PreconditionFailedException.class)
+    public ResponseEntity<ApiError> handlePreconditionFailed(
+            PreconditionFailedException ex, HttpServletRequest request) {
+        return buildResponse(HttpStatus.PRECONDITION_FAILED, ex.getMessage(), request, null);
+    }
+
     // --- 403 Forbidden ---
     @ExceptionHandler({UnauthorizedException.class, AccessDeniedException.class})
     public ResponseEntity<ApiError> handleForbidden(
@@ -50,6 +67,14 @@ public class GlobalExceptionHandler {
         return buildResponse(HttpStatus.UNAUTHORIZED, "Identifiants invalides", request, null);
     }
 
+    // --- 400 Bad Request ---
+    @ExceptionHandler(BadRequestException.class)
+    public ResponseEntity<ApiError> handleBadRequest(
+            BadRequestException ex, HttpServletRequest request) {
+        log.warn("Requête invalide: {}", ex.getMessage());
+        return buildResponse(HttpStatus.BAD_REQUEST, ex.getMessage(), request, null);
+    }
+
     // --- 400 Validation ---
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<ApiError> handleValidation(
@@ -62,6 +87,17 @@ public class GlobalExceptionHandler {
         return buildResponse(HttpStatus.BAD_REQUEST, "Erreur de validation", request, errors);
     }
 
+    // --- 503 Service Unavailable ---
+    @ExceptionHandler(ServiceUnavailableException.class)
+    public ResponseEntity<ApiError> handleServiceUnavailable(
+            ServiceUnavailableException ex, HttpServletRequest request) {
+        ResponseEntity<ApiError> response =
+                buildResponse(HttpStatus.SERVICE_UNAVAILABLE, ex.getMessage(), request, null);
+        return ResponseEntity.status(response.getStatusCode())
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(response.getBody());
+    }
+
     // --- 500 Internal Error ---
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ApiError> handleGeneric(
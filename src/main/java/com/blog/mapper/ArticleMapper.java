@@ -13,7 +13,6 @@ import java.util.stream.Collectors;
 public interface ArticleMapper {
 
     @Mapping(target = "tags", expression = "java(mapTags(article.getTags()))")
-    @Mapping(target = "commentCount", expression = "java(article.getComments().size())")
     @Mapping(target = "coverImageUrl", source = "coverImageUrl")
     ArticleResponse toResponse(Article article);
 
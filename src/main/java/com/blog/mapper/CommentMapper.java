@@ -9,5 +9,6 @@ import org.mapstruct.Mapping;
 public interface CommentMapper {
 
     @Mapping(target = "articleId", source = "article.id")
+    @Mapping(target = "parentId", source = "parent.id")
     CommentResponse toResponse(Comment comment);
 }
@@ -2,6 +2,7 @@ package com.blog.mapper;
 
 import com.blog.dto.response.UserResponse;
 import com.blog.entity.User;
+import com.blog.security.UserPrincipal;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 
@@ -10,4 +11,7 @@ public interface UserMapper {
 
     @Mapping(target = "role", expression = "java(user.getRole().name())")
     UserResponse toResponse(User user);
+
+    @Mapping(target = "role", expression = "java(principal.role().name())")
+    UserResponse toResponse(UserPrincipal principal);
 }
@@ -0,0 +1,18 @@
+package com.blog.repository;
+
+import java.time.LocalDateTime;
+
+/** Colonnes d'un article pour l'export, lues en projection (aucune entité gérée). */
+public record ArticleExportRow(
+        Long id,
+        String slug,
+        String title,
+        String summary,
+        String content,
+        boolean published,
+        String author,
+        String coverImageUrl,
+        int commentCount,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt
+) {}
@@ -1,16 +1,32 @@
 package com.blog.repository;
 
+import com.blog.config.FullTextFunctionContributor;
 import com.blog.dto.request.ArticleSearchFilter;
+import com.blog.entity.Article;
 import com.blog.entity.QArticle;
 import com.querydsl.core.BooleanBuilder;
+import com.querydsl.core.types.OrderSpecifier;
 import com.querydsl.core.types.Predicate;
+import com.querydsl.core.types.dsl.BooleanExpression;
+import com.querydsl.core.types.dsl.ComparableExpression;
+import com.querydsl.core.types.dsl.Expressions;
+import com.querydsl.core.types.dsl.NumberExpression;
 import lombok.experimental.UtilityClass;
 
-
 @UtilityClass
 public class ArticlePredicate {
 
+    public static final String TRI_PERTINENCE = "relevance";
+
     public static Predicate build(ArticleSearchFilter filter) {
+        return build(filter, false);
+    }
+
+    /**
+     * @param fullText true pour interroger l'index plein texte PostgreSQL,
+     *                 false pour le filtre LIKE (H2, bases sans search_vector)
+     */
+    public static Predicate build(ArticleSearchFilter filter, boolean fullText) {
 
 
         QArticle article = QArticle.article;
@@ -19,7 +35,11 @@ public class ArticlePredicate {
         BooleanBuilder builder = new BooleanBuilder();
 
 
-        if (hasText(filter.keyword())) {
+        if (hasText(filter.keyword()) && fullText) {
+            builder.and(Expressions.booleanTemplate(
+                    "function('" + FullTextFunctionContributor.FTS_MATCH + "', {0}, {1}) = true",
+                    article.id, filter.keyword()));
+        } else if (hasText(filter.keyword())) {
             builder.and(
                     article.title.containsIgnoreCase(filter.keyword())
                             .or(article.content.containsIgnoreCase(filter.keyword()))
@@ -60,6 +80,54 @@ public class ArticlePredicate {
         return builder;
     }
 
+    /** Tri par score plein texte décroissant, l'id départageant les ex aequo. */
+    public static OrderSpecifier<?>[] relevanceOrder(String keyword) {
+        QArticle article = QArticle.article;
+        NumberExpression<Double> rank = Expressions.numberTemplate(Double.class,
+                "function('" + FullTextFunctionContributor.FTS_RANK + "', {0}, {1})",
+                article.id, keyword);
+        return new OrderSpecifier<?>[] { rank.desc(), article.id.desc() };
+    }
+
+    // --- Pagination par clé : tri DESC sur (champ, id) ---
+
+    public static Predicate seekAfter(String sortField, KeysetCursor cursor) {
+        QArticle article = QArticle.article;
+        String value = cursor.sortKey();
+        return switch (sortField) {
+            case "updatedAt" -> seek(article.updatedAt, cursor.sortKeyAsDateTime(), cursor.id());
+            case "title"     -> seek(article.title, value, cursor.id());
+            case "published" -> seek(article.published, Boolean.valueOf(value), cursor.id());
+            default          -> seek(article.createdAt, cursor.sortKeyAsDateTime(), cursor.id());
+        };
+    }
+
+    public static OrderSpecifier<?>[] keysetOrder(String sortField) {
+        QArticle article = QArticle.article;
+        ComparableExpression<?> key = switch (sortField) {
+            case "updatedAt" -> article.updatedAt;
+            case "title"     -> article.title;
+            case "published" -> article.published;
+            default          -> article.createdAt;
+        };
+        return new OrderSpecifier<?>[] { key.desc(), article.id.desc() };
+    }
+
+    public static KeysetCursor cursorOf(Article article, String sortField) {
+        String value = switch (sortField) {
+            case "updatedAt" -> article.getUpdatedAt().toString();
+            case "title"     -> article.getTitle();
+            case "published" -> String.valueOf(article.isPublished());
+            default          -> article.getCreatedAt().toString();
+        };
+        return new KeysetCursor(value, article.getId());
+    }
+
+    private static <T extends Comparable<?>> BooleanExpression seek(
+            ComparableExpression<T> key, T value, Long lastId) {
+        return key.lt(value).or(key.eq(value).and(QArticle.article.id.lt(lastId)));
+    }
+
     private static boolean hasText(String value) {
         return value != null && !value.isBlank();
     }
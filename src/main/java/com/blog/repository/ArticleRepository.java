@@ -1,21 +1,75 @@
 package com.blog.repository;
 
 import com.blog.entity.Article;
+import com.blog.entity.ImageVariant;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.querydsl.QuerydslPredicateExecutor;
+import org.springframework.data.repository.query.Param;
+import jakarta.persistence.LockModeType;
 
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 
 public interface ArticleRepository extends JpaRepository<Article, Long>,
-        QuerydslPredicateExecutor<Article> {
+        QuerydslPredicateExecutor<Article>, ArticleSearchRepository {
 
     Optional<Article> findBySlug(String slug);
 
     boolean existsBySlug(String slug);
 
+    @Query("SELECT a.id FROM Article a WHERE a.slug = :slug")
+    Optional<Long> findIdBySlug(@Param("slug") String slug);
+
+    @Query("SELECT new com.blog.repository.ArticleVersion(a.id, a.version, a.commentCount, "
+         + "CASE WHEN a.coverVariants IS NULL THEN false ELSE true END) "
+         + "FROM Article a WHERE a.id = :id")
+    Optional<ArticleVersion> findVersionById(@Param("id") Long id);
+
+    @Query("SELECT new com.blog.repository.ArticleVersion(a.id, a.version, a.commentCount, "
+         + "CASE WHEN a.coverVariants IS NULL THEN false ELSE true END) "
+         + "FROM Article a WHERE a.slug = :slug")
+    Optional<ArticleVersion> findVersionBySlug(@Param("slug") String slug);
+
+    @Query("SELECT a.id FROM Article a WHERE a.published = true AND a.id IN :ids")
+    List<Long> findPublishedIdsIn(@Param("ids") Collection<Long> ids);
+
     Page<Article> findByAuthorIdAndPublished(Long authorId, boolean published, Pageable pageable);
+
+    @EntityGraph(attributePaths = {"author", "tags"})
+    List<Article> findWithAuthorAndTagsByIdIn(Collection<Long> ids);
+
+    @EntityGraph(attributePaths = "tags")
+    List<Article> findWithTagsByIdIn(Collection<Long> ids);
+
+    // Parcours par lots dans l'ordre des ids, sans COUNT
+    @Query("SELECT a.id FROM Article a WHERE a.id > :after ORDER BY a.id")
+    List<Long> findIdsAfter(@Param("after") Long after, Pageable limit);
+
+    // Verrou de ligne : les écritures de la couverture et de ses déclinaisons se suivent
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT a FROM Article a WHERE a.id = :id")
+    Optional<Article> findForUpdateById(@Param("id") Long id);
+
+    // UPDATE ciblé : ni @Version ni updated_at ne bougent
+    @Modifying
+    @Query("UPDATE Article a SET a.coverVariants = :variants WHERE a.id = :id AND a.coverImageUrl = :coverUrl")
+    int updateCoverVariants(@Param("id") Long id, @Param("coverUrl") String coverUrl,
+                            @Param("variants") List<ImageVariant> variants);
+
+    @Modifying
+    @Query("UPDATE Article a SET a.coverVariants = NULL WHERE a.id = :id")
+    int clearCoverVariants(@Param("id") Long id);
+
+    @Modifying
+    @Query("UPDATE Article a SET a.commentCount = a.commentCount + :delta WHERE a.id = :articleId")
+    int incrementCommentCount(@Param("articleId") Long articleId, @Param("delta") int delta);
 }
@@ -0,0 +1,41 @@
+package com.blog.repository;
+
+import com.querydsl.core.types.OrderSpecifier;
+import com.querydsl.core.types.Predicate;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+public interface ArticleSearchRepository {
+
+    /**
+     * Première phase de la recherche : ne sélectionne que les ids de la page demandée,
+     * les articles sont chargés ensuite en une seule requête.
+     */
+    Page<Long> findIdPage(Predicate predicate, Pageable pageable);
+
+    /** Comme {@link #findIdPage(Predicate, Pageable)} mais avec un ordre explicite (ex. pertinence). */
+    Page<Long> findIdPage(Predicate predicate, Pageable pageable, OrderSpecifier<?>... orders);
+
+    /** Variante sans COUNT : au plus {@code limit} ids, dans l'ordre donné. */
+    List<Long> findIdSlice(Predicate predicate, int limit, OrderSpecifier<?>... orders);
+
+    /**
+     * Curseur en avant seulement, trié par id, lu par paquets de {@code fetchSize} lignes.
+     * À consommer dans une transaction et à fermer.
+     */
+    Stream<ArticleExportRow> streamForExport(Predicate predicate, int fetchSize);
+
+    /** Noms de tags par article, pour un paquet d'ids. */
+    Map<Long, List<String>> findTagNamesByArticleIds(Collection<Long> articleIds);
+
+    /**
+     * Commentaires des articles retenus par le même prédicat, triés par (article_id, path) :
+     * second curseur en avant seulement, fusionné avec {@link #streamForExport}.
+     */
+    Stream<CommentExportRow> streamCommentsForExport(Predicate articlePredicate, int fetchSize);
+}
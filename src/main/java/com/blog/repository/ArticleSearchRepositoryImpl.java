@@ -0,0 +1,135 @@
+package com.blog.repository;
+
+import com.blog.entity.QArticle;
+import com.blog.entity.QComment;
+import com.blog.entity.QTag;
+import com.querydsl.core.Tuple;
+import com.querydsl.core.types.OrderSpecifier;
+import com.querydsl.core.types.Predicate;
+import com.querydsl.core.types.Projections;
+import com.querydsl.core.types.dsl.PathBuilder;
+import com.querydsl.jpa.impl.JPAQuery;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.support.Querydsl;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+@RequiredArgsConstructor
+public class ArticleSearchRepositoryImpl implements ArticleSearchRepository {
+
+    private final EntityManager entityManager;
+
+    @Override
+    public Page<Long> findIdPage(Predicate predicate, Pageable pageable) {
+        QArticle article = QArticle.article;
+
+        JPAQuery<Long> query = new JPAQuery<>(entityManager)
+                .select(article.id)
+                .from(article)
+                .where(predicate);
+        return toPage(querydsl().applyPagination(pageable, query).fetch(), predicate, pageable);
+    }
+
+    @Override
+    public Page<Long> findIdPage(Predicate predicate, Pageable pageable, OrderSpecifier<?>... orders) {
+        QArticle article = QArticle.article;
+
+        List<Long> ids = new JPAQuery<>(entityManager)
+                .select(article.id)
+                .from(article)
+                .where(predicate)
+                .orderBy(orders)
+                .offset(pageable.getOffset())
+                .limit(pageable.getPageSize())
+                .fetch();
+        return toPage(ids, predicate, pageable);
+    }
+
+    private Page<Long> toPage(List<Long> ids, Predicate predicate, Pageable pageable) {
+        QArticle article = QArticle.article;
+        return PageableExecutionUtils.getPage(ids, pageable, () -> new JPAQuery<>(entityManager)
+                .select(article.count())
+                .from(article)
+                .where(predicate)
+                .fetchOne());
+    }
+
+    @Override
+    public List<Long> findIdSlice(Predicate predicate, int limit, OrderSpecifier<?>... orders) {
+        QArticle article = QArticle.article;
+        return new JPAQuery<>(entityManager)
+                .select(article.id)
+                .from(article)
+                .where(predicate)
+                .orderBy(orders)
+                .limit(limit)
+                .fetch();
+    }
+
+    @Override
+    public Stream<ArticleExportRow> streamForExport(Predicate predicate, int fetchSize) {
+        QArticle article = QArticle.article;
+        return new JPAQuery<>(entityManager)
+                .select(Projections.constructor(ArticleExportRow.class,
+                        article.id, article.slug, article.title, article.summary, article.content,
+                        article.published, article.author.username, article.coverImageUrl,
+                        article.commentCount, article.createdAt, article.updatedAt))
+                .from(article)
+                .where(predicate)
+                .orderBy(article.id.asc())
+                .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .stream();
+    }
+
+    @Override
+    public Map<Long, List<String>> findTagNamesByArticleIds(Collection<Long> articleIds) {
+        QArticle article = QArticle.article;
+        QTag tag         = QTag.tag;
+
+        Map<Long, List<String>> tagsByArticle = new HashMap<>();
+        for (Tuple row : new JPAQuery<>(entityManager)
+                .select(article.id, tag.name)
+                .from(article)
+                .join(article.tags, tag)
+                .where(article.id.in(articleIds))
+                .orderBy(article.id.asc(), tag.name.asc())
+                .fetch()) {
+            tagsByArticle.computeIfAbsent(row.get(article.id), id -> new ArrayList<>()).add(row.get(tag.name));
+        }
+        return tagsByArticle;
+    }
+
+    @Override
+    public Stream<CommentExportRow> streamCommentsForExport(Predicate articlePredicate, int fetchSize) {
+        QComment comment = QComment.comment;
+        QArticle article = QArticle.article;
+        return new JPAQuery<>(entityManager)
+                .select(Projections.constructor(CommentExportRow.class,
+                        comment.id, comment.article.id, comment.parent.id, comment.author.username, comment.content,
+                        comment.createdAt, comment.updatedAt))
+                .from(comment)
+                .join(comment.article, article)
+                .where(articlePredicate)
+                .orderBy(comment.article.id.asc(), comment.path.asc())
+                .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .stream();
+    }
+
+    private Querydsl querydsl() {
+        QArticle article = QArticle.article;
+        return new Querydsl(entityManager,
+                new PathBuilder<>(article.getType(), article.getMetadata()));
+    }
+}
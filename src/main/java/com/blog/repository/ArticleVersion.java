@@ -0,0 +1,16 @@
+package com.blog.repository;
+
+import com.blog.entity.Article;
+
+/**
+ * Ce qui identifie l'état d'un article pour les validateurs HTTP, lu en projection sans
+ * charger le contenu. commentCount et la présence des déclinaisons sont écrits par UPDATE
+ * ciblé sans toucher à la version.
+ */
+public record ArticleVersion(Long id, Long version, int commentCount, boolean coverVariants) {
+
+    public static ArticleVersion of(Article article) {
+        return new ArticleVersion(article.getId(), article.getVersion(),
+                article.getCommentCount(), article.getCoverVariants() != null);
+    }
+}
@@ -0,0 +1,15 @@
+package com.blog.repository;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import java.time.LocalDateTime;
+
+public record CommentExportRow(
+        Long id,
+        @JsonIgnore Long articleId,
+        Long parentId,
+        String author,
+        String content,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt
+) {}
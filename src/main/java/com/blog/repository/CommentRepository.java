@@ -9,11 +9,72 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
 @Repository
 public interface CommentRepository extends JpaRepository<Comment, Long> {
 
     Page<Comment> findByArticleId(Long articleId, Pageable pageable);
 
+    // Pagination par clé : la page ne sert qu'à la limite, aucun COUNT n'est émis
+    @Query("SELECT c FROM Comment c JOIN FETCH c.author WHERE c.article.id = :articleId " +
+           "ORDER BY c.createdAt DESC, c.id DESC")
+    List<Comment> findSliceByArticleId(@Param("articleId") Long articleId, Pageable limit);
+
+    @Query("SELECT c FROM Comment c JOIN FETCH c.author WHERE c.article.id = :articleId " +
+           "AND (c.createdAt < :createdAt OR (c.createdAt = :createdAt AND c.id < :id)) " +
+           "ORDER BY c.createdAt DESC, c.id DESC")
+    List<Comment> findSliceByArticleIdAfter(@Param("articleId") Long articleId,
+                                            @Param("createdAt") LocalDateTime createdAt,
+                                            @Param("id") Long id,
+                                            Pageable limit);
+
+    @Query("SELECT c FROM Comment c JOIN FETCH c.author WHERE c.article.id = :articleId AND c.parent IS NULL " +
+           "ORDER BY c.createdAt DESC, c.id DESC")
+    List<Comment> findRootSliceByArticleId(@Param("articleId") Long articleId, Pageable limit);
+
+    @Query("SELECT c FROM Comment c JOIN FETCH c.author WHERE c.article.id = :articleId AND c.parent IS NULL " +
+           "AND (c.createdAt < :createdAt OR (c.createdAt = :createdAt AND c.id < :id)) " +
+           "ORDER BY c.createdAt DESC, c.id DESC")
+    List<Comment> findRootSliceByArticleIdAfter(@Param("articleId") Long articleId,
+                                                @Param("createdAt") LocalDateTime createdAt,
+                                                @Param("id") Long id,
+                                                Pageable limit);
+
+    /**
+     * Pour chaque racine, ses {@code limit} premiers descendants en ordre de parcours :
+     * un parcours borné de l'index (article_id, path) par racine, en une seule requête.
+     */
+    @Query(value = "SELECT r.id FROM unnest(CAST(:rootPaths AS varchar[])) AS root(path) " +
+                   "CROSS JOIN LATERAL (" +
+                   "  SELECT c.id, c.path FROM comments c " +
+                   "  WHERE c.article_id = :articleId AND c.path > root.path AND c.path < root.path || '~' " +
+                   "  ORDER BY c.path LIMIT :limit) r",
+           nativeQuery = true)
+    List<Long> findFirstReplyIds(@Param("articleId") Long articleId,
+                                 @Param("rootPaths") String[] rootPaths,
+                                 @Param("limit") int limit);
+
+    @Query("SELECT c FROM Comment c JOIN FETCH c.author WHERE c.id IN :ids")
+    List<Comment> findWithAuthorByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Descendants après la position donnée, en ordre de parcours ; upper = path de la racine + '~'
+    @Query("SELECT c FROM Comment c JOIN FETCH c.author WHERE c.article.id = :articleId " +
+           "AND c.path > :after AND c.path < :upper ORDER BY c.path")
+    List<Comment> findSubtreeSlice(@Param("articleId") Long articleId,
+                                   @Param("after") String after,
+                                   @Param("upper") String upper,
+                                   Pageable limit);
+
+    // Une seule instruction : la clé parent_id n'est vérifiée qu'en fin de requête
+    @Modifying
+    @Query("DELETE FROM Comment c WHERE c.article.id = :articleId AND c.path >= :path AND c.path < :upper")
+    int deleteSubtree(@Param("articleId") Long articleId,
+                      @Param("path") String path,
+                      @Param("upper") String upper);
+
     Page<Comment> findByAuthorId(Long authorId, Pageable pageable);
 
     @Modifying
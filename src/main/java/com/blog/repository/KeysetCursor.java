@@ -0,0 +1,47 @@
+package com.blog.repository;
+
+import com.blog.exception.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Position opaque dans une pagination par clé (valeur du tri + id du dernier élément).
+ */
+public record KeysetCursor(String sortKey, Long id) {
+
+    private static final char SEPARATEUR = '|';
+
+    public String encode() {
+        String raw = sortKey + SEPARATEUR + id;
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /** Retourne null pour un curseur vide (première page). */
+    public static KeysetCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) return null;
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int index  = raw.lastIndexOf(SEPARATEUR);
+            return new KeysetCursor(raw.substring(0, index), Long.parseLong(raw.substring(index + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+            throw invalid();
+        }
+    }
+
+    /** Valeur du tri lue comme date (tri createdAt / updatedAt). */
+    public LocalDateTime sortKeyAsDateTime() {
+        try {
+            return LocalDateTime.parse(sortKey);
+        } catch (DateTimeParseException e) {
+            throw invalid();
+        }
+    }
+
+    private static BadRequestException invalid() {
+        return new BadRequestException("Curseur de pagination invalide");
+    }
+}
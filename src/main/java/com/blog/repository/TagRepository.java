@@ -1,9 +1,14 @@
 package com.blog.repository;
 
 import com.blog.entity.Tag;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -12,4 +17,10 @@ public interface TagRepository extends JpaRepository<Tag, Long> {
     Optional<Tag> findByName(String name);
 
     boolean existsByName(String name);
+
+    List<Tag> findByNameIn(Collection<String> names);
+
+    @Query("SELECT t FROM Tag t WHERE t.publishedArticleCount >= :minCount " +
+           "ORDER BY t.publishedArticleCount DESC, t.name")
+    List<Tag> findMostUsed(@Param("minCount") int minCount, Pageable limit);
 }
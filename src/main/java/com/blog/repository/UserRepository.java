@@ -1,7 +1,11 @@
 package com.blog.repository;
 
 import com.blog.entity.User;
+import com.blog.security.UserSecurityState;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
@@ -16,4 +20,13 @@ public interface UserRepository extends JpaRepository<User, Long> {
     boolean existsByUsername(String username);
 
     boolean existsByEmail(String email);
+
+    @Query("SELECT new com.blog.security.UserSecurityState(u.securityVersion, u.enabled) " +
+           "FROM User u WHERE u.id = :id")
+    Optional<UserSecurityState> findSecurityStateById(@Param("id") Long id);
+
+    // Recalcul du hash seul : ne passe pas par setPassword, donc pas d'incrément de securityVersion
+    @Modifying
+    @Query("UPDATE User u SET u.password = :password WHERE u.id = :id")
+    int updatePasswordHash(@Param("id") Long id, @Param("password") String password);
 }
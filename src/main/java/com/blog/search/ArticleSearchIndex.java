@@ -0,0 +1,263 @@
+package com.blog.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Index inversé en mémoire des articles (titre, résumé, contenu, tags), classement BM25.
+ *
+ * <p>Chaque version d'un article reçoit un nouvel ordinal, l'ancien est marqué supprimé :
+ * les postings restent triés en n'ajoutant qu'en fin de liste. Quand les ordinaux morts
+ * dépassent les vivants, l'index est compacté et renuméroté.
+ */
+public class ArticleSearchIndex {
+
+    private static final double K1 = 1.2;
+    private static final double B  = 0.75;
+
+    private static final int POIDS_TITRE   = 3;
+    private static final int POIDS_RESUME  = 2;
+    private static final int POIDS_TAG     = 2;
+    private static final int POIDS_CONTENU = 1;
+
+    private static final int SEUIL_COMPACTAGE = 1024;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<String, Postings> terms    = new HashMap<>();
+    private final Map<String, Postings> tags     = new HashMap<>();
+    private final Map<Long, Integer>    ordinals = new HashMap<>();
+
+    private long[] articleIds = new long[1024];
+    private int[]  lengths    = new int[1024];
+    private final BitSet published = new BitSet();
+    private final BitSet deleted   = new BitSet();
+
+    private int  docCount;
+    private int  liveCount;
+    private long totalLength;
+
+    public record SearchResult(List<Long> articleIds, int total) {
+        public static final SearchResult EMPTY = new SearchResult(List.of(), 0);
+    }
+
+    private record ScoredDoc(int doc, double score) {}
+
+    private static final Comparator<ScoredDoc> PAR_SCORE = Comparator
+            .comparingDouble(ScoredDoc::score)
+            .thenComparingInt(ScoredDoc::doc);
+
+    // --- Écriture ---
+
+    public void upsert(long articleId, String title, String summary, String content,
+                       Collection<String> tagNames, boolean isPublished) {
+        // Tokenisation hors verrou
+        Map<String, Integer> freqs = new HashMap<>();
+        int length = accumulate(freqs, title, POIDS_TITRE)
+                   + accumulate(freqs, summary, POIDS_RESUME)
+                   + accumulate(freqs, content, POIDS_CONTENU);
+        Set<String> distinctTags = new LinkedHashSet<>();
+        if (tagNames != null) {
+            for (String tag : tagNames) {
+                length += accumulate(freqs, tag, POIDS_TAG);
+                distinctTags.add(tag);
+            }
+        }
+
+        lock.writeLock().lock();
+        try {
+            removeLocked(articleId);
+
+            int ord = docCount++;
+            ensureCapacity(ord + 1);
+            articleIds[ord] = articleId;
+            lengths[ord]    = length;
+            published.set(ord, isPublished);
+            ordinals.put(articleId, ord);
+
+            freqs.forEach((term, freq) -> terms.computeIfAbsent(term, k -> new Postings()).add(ord, freq));
+            distinctTags.forEach(tag -> tags.computeIfAbsent(tag, k -> new Postings()).add(ord, 1));
+
+            liveCount++;
+            totalLength += length;
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long articleId) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(articleId);
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return liveCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // --- Lecture ---
+
+    /**
+     * Articles contenant tous les termes du mot-clé, classés par score BM25 décroissant.
+     *
+     * @param tagFilter       au moins un de ces tags (null ou vide : pas de filtre)
+     * @param publishedFilter null = publiés uniquement, comme ArticlePredicate
+     */
+    public SearchResult search(String keyword, Collection<String> tagFilter, Boolean publishedFilter,
+                               int offset, int limit) {
+        List<String> queryTerms = SearchTokenizer.tokenize(keyword).stream().distinct().toList();
+        if (queryTerms.isEmpty()) return SearchResult.EMPTY;
+
+        lock.readLock().lock();
+        try {
+            Postings[] lists = new Postings[queryTerms.size()];
+            for (int i = 0; i < lists.length; i++) {
+                lists[i] = terms.get(queryTerms.get(i));
+                if (lists[i] == null) return SearchResult.EMPTY;
+            }
+            // Le terme le plus rare fournit les candidats, les autres sont vérifiés par dichotomie
+            Arrays.sort(lists, Comparator.comparingInt(Postings::size));
+
+            double[] idf = new double[lists.length];
+            for (int i = 0; i < lists.length; i++) {
+                int df = Math.min(lists[i].size(), liveCount);
+                idf[i] = Math.log(1 + (liveCount - df + 0.5) / (df + 0.5));
+            }
+            double avgLength = liveCount == 0 ? 1 : (double) totalLength / liveCount;
+
+            BitSet tagDocs        = tagFilter == null || tagFilter.isEmpty() ? null : tagUnion(tagFilter);
+            boolean wantPublished = publishedFilter == null || publishedFilter;
+
+            int k = offset + limit;
+            PriorityQueue<ScoredDoc> top = new PriorityQueue<>(Math.max(1, k), PAR_SCORE);
+            int total = 0;
+
+            Postings rarest = lists[0];
+            candidates:
+            for (int i = 0; i < rarest.size(); i++) {
+                int doc = rarest.doc(i);
+                if (deleted.get(doc) || published.get(doc) != wantPublished) continue;
+                if (tagDocs != null && !tagDocs.get(doc)) continue;
+
+                double norm  = K1 * (1 - B + B * lengths[doc] / avgLength);
+                double score = bm25(rarest.freq(i), idf[0], norm);
+                for (int t = 1; t < lists.length; t++) {
+                    int tf = lists[t].freqOf(doc);
+                    if (tf == 0) continue candidates;
+                    score += bm25(tf, idf[t], norm);
+                }
+
+                total++;
+                if (k == 0) continue;
+                ScoredDoc scored = new ScoredDoc(doc, score);
+                if (top.size() < k) {
+                    top.add(scored);
+                } else if (PAR_SCORE.compare(scored, top.peek()) > 0) {
+                    top.poll();
+                    top.add(scored);
+                }
+            }
+
+            List<ScoredDoc> ranked = new ArrayList<>(top);
+            ranked.sort(PAR_SCORE.reversed());
+            List<Long> ids = ranked.stream()
+                    .skip(offset)
+                    .map(scored -> articleIds[scored.doc()])
+                    .toList();
+            return new SearchResult(ids, total);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // --- Interne ---
+
+    private static double bm25(int tf, double idf, double norm) {
+        return idf * tf * (K1 + 1) / (tf + norm);
+    }
+
+    private static int accumulate(Map<String, Integer> freqs, String text, int weight) {
+        List<String> tokens = SearchTokenizer.tokenize(text);
+        for (String token : tokens) freqs.merge(token, weight, Integer::sum);
+        return tokens.size() * weight;
+    }
+
+    private BitSet tagUnion(Collection<String> tagFilter) {
+        BitSet union = new BitSet(docCount);
+        for (String tag : tagFilter) {
+            Postings postings = tags.get(tag);
+            if (postings == null) continue;
+            for (int i = 0; i < postings.size(); i++) union.set(postings.doc(i));
+        }
+        return union;
+    }
+
+    private void removeLocked(long articleId) {
+        Integer ord = ordinals.remove(articleId);
+        if (ord == null) return;
+        deleted.set(ord);
+        published.clear(ord);
+        liveCount--;
+        totalLength -= lengths[ord];
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity <= articleIds.length) return;
+        int newLength = Math.max(capacity, articleIds.length * 2);
+        articleIds = Arrays.copyOf(articleIds, newLength);
+        lengths    = Arrays.copyOf(lengths, newLength);
+    }
+
+    private void compactIfNeeded() {
+        int dead = docCount - liveCount;
+        if (dead < SEUIL_COMPACTAGE || dead < liveCount) return;
+
+        int[] remap = new int[docCount];
+        int next = 0;
+        for (int old = 0; old < docCount; old++) {
+            if (deleted.get(old)) {
+                remap[old] = -1;
+                continue;
+            }
+            remap[old]       = next;
+            articleIds[next] = articleIds[old];
+            lengths[next]    = lengths[old];
+            published.set(next, published.get(old));
+            next++;
+        }
+        published.clear(next, docCount);
+        deleted.clear();
+
+        terms.values().removeIf(postings -> {
+            postings.remap(remap);
+            return postings.size() == 0;
+        });
+        tags.values().removeIf(postings -> {
+            postings.remap(remap);
+            return postings.size() == 0;
+        });
+        ordinals.replaceAll((id, ord) -> remap[ord]);
+        docCount = next;
+    }
+}
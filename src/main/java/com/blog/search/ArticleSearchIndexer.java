@@ -0,0 +1,114 @@
+package com.blog.search;
+
+import com.blog.dto.request.ArticleSearchFilter;
+import com.blog.entity.Article;
+import com.blog.entity.Tag;
+import com.blog.event.ArticleChangedEvent;
+import com.blog.repository.ArticleRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Alimente {@link ArticleSearchIndex} : reconstruction par lots au démarrage,
+ * puis mise à jour incrémentale après chaque commit d'article.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.search.in-memory-index.enabled", havingValue = "true")
+public class ArticleSearchIndexer {
+
+    private final ArticleRepository articleRepository;
+    private final PlatformTransactionManager transactionManager;
+
+    private final ArticleSearchIndex index = new ArticleSearchIndex();
+
+    // Articles modifiés pendant la reconstruction : l'événement fait foi sur le lot
+    private final Set<Long> touchedDuringRebuild = new HashSet<>();
+    private boolean rebuilding;
+    private volatile boolean ready;
+
+    @Value("${app.search.in-memory-index.batch-size:500}")
+    private int batchSize;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        synchronized (touchedDuringRebuild) {
+            rebuilding = true;
+        }
+        long start = System.currentTimeMillis();
+
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        Long after = 0L;
+        while (after != null) {
+            final Long from = after;
+            after = readOnly.execute(status -> indexBatch(from));
+        }
+
+        synchronized (touchedDuringRebuild) {
+            touchedDuringRebuild.clear();
+            rebuilding = false;
+        }
+        ready = true;
+        log.info("Index de recherche construit : {} articles en {} ms",
+                index.size(), System.currentTimeMillis() - start);
+    }
+
+    @TransactionalEventListener
+    public void onArticleChanged(ArticleChangedEvent event) {
+        if (event.type() == ArticleChangedEvent.Type.COVER_CHANGED) return;
+        synchronized (touchedDuringRebuild) {
+            if (rebuilding) touchedDuringRebuild.add(event.articleId());
+            if (event.type() == ArticleChangedEvent.Type.DELETED) {
+                index.remove(event.articleId());
+            } else {
+                index.upsert(event.articleId(), event.title(), event.summary(), event.content(),
+                        event.tags(), event.published());
+            }
+        }
+    }
+
+    /** L'index ne connaît que keyword, tags et published ; les autres filtres passent par la base. */
+    public boolean canAnswer(ArticleSearchFilter filter) {
+        return ready
+                && filter.keyword() != null && !filter.keyword().isBlank()
+                && filter.authorUsername() == null
+                && filter.createdAfter() == null
+                && filter.createdBefore() == null
+                && !Boolean.TRUE.equals(filter.hasCoverImage());
+    }
+
+    public ArticleSearchIndex.SearchResult search(ArticleSearchFilter filter, int offset, int limit) {
+        return index.search(filter.keyword(), filter.tags(), filter.published(), offset, limit);
+    }
+
+    // Retourne le dernier id du lot, ou null quand tout est indexé
+    private Long indexBatch(Long after) {
+        List<Long> ids = articleRepository.findIdsAfter(after, PageRequest.of(0, batchSize));
+        if (ids.isEmpty()) return null;
+
+        for (Article article : articleRepository.findWithTagsByIdIn(ids)) {
+            synchronized (touchedDuringRebuild) {
+                if (touchedDuringRebuild.contains(article.getId())) continue;
+                index.upsert(article.getId(), article.getTitle(), article.getSummary(), article.getContent(),
+                        article.getTags().stream().map(Tag::getName).toList(), article.isPublished());
+            }
+        }
+        return ids.get(ids.size() - 1);
+    }
+}
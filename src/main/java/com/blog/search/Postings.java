@@ -0,0 +1,54 @@
+package com.blog.search;
+
+import java.util.Arrays;
+
+/**
+ * Liste de postings en tableaux primitifs : ordinaux de documents strictement croissants
+ * (ajout en fin uniquement) et fréquence pondérée du terme pour chacun.
+ */
+final class Postings {
+
+    private int[] docs  = new int[4];
+    private int[] freqs = new int[4];
+    private int size;
+
+    void add(int doc, int freq) {
+        if (size == docs.length) {
+            docs  = Arrays.copyOf(docs, size * 2);
+            freqs = Arrays.copyOf(freqs, size * 2);
+        }
+        docs[size]  = doc;
+        freqs[size] = freq;
+        size++;
+    }
+
+    int size()          { return size; }
+    int doc(int index)  { return docs[index]; }
+    int freq(int index) { return freqs[index]; }
+
+    /** Fréquence du terme pour ce document, 0 s'il n'y figure pas. */
+    int freqOf(int doc) {
+        int index = Arrays.binarySearch(docs, 0, size, doc);
+        return index >= 0 ? freqs[index] : 0;
+    }
+
+    /**
+     * Renumérote les documents (remap[ancien] = nouveau, ou -1 si supprimé).
+     * La table étant croissante, l'ordre des postings est conservé.
+     */
+    void remap(int[] remap) {
+        int kept = 0;
+        for (int i = 0; i < size; i++) {
+            int target = remap[docs[i]];
+            if (target < 0) continue;
+            docs[kept]  = target;
+            freqs[kept] = freqs[i];
+            kept++;
+        }
+        size = kept;
+        if (docs.length > 16 && size < docs.length / 4) {
+            docs  = Arrays.copyOf(docs, Math.max(4, size * 2));
+            freqs = Arrays.copyOf(freqs, Math.max(4, size * 2));
+        }
+    }
+}
@@ -0,0 +1,259 @@
+package com.blog.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Index en mémoire tag → ordinaux d'articles, pour les articles similaires (Jaccard sur les tags).
+ *
+ * <p>Mêmes conventions que {@link ArticleSearchIndex} : un nouvel ordinal par version
+ * d'article, listes triées en ajout seul, compactage quand les ordinaux morts dominent.
+ * Les listes des tags de l'article source sont fusionnées en une passe : chaque candidat
+ * sort avec le nombre de tags communs, sans table intermédiaire ni requête SQL.
+ *
+ * <p>Chaque posting porte le nombre de tags de son article (0 pour un brouillon) : la
+ * similarité se calcule en lisant les listes en séquence ; seuls les candidats qui
+ * peuvent entrer dans le classement vont lire leur date et leur id.
+ *
+ * <p>Une liste n'est lue que sur ses {@code maxScanPerTag} postings les plus récents : les
+ * anciens articles d'un tag très courant ne sont plus candidats que par un autre tag commun.
+ * Les candidats retenus gardent leur similarité exacte, et les tags sous le plafond (les
+ * plus discriminants) sont lus en entier.
+ */
+public class RelatedArticlesIndex {
+
+    private static final int SEUIL_COMPACTAGE = 1024;
+
+    // 5 tags plafonnés sur 1 M d'articles : ~0,75 ms (RelatedArticlesBenchmark)
+    private static final int MAX_SCAN_PAR_TAG = 1024;
+
+    private static final Postings[] AUCUN_TAG = new Postings[0];
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<String, Postings> tags     = new HashMap<>();
+    private final Map<Long, Integer>    ordinals = new HashMap<>();
+
+    private long[]       articleIds = new long[1024];
+    private long[]       createdAt  = new long[1024];
+    private Postings[][] docTags    = new Postings[1024][];
+    private final BitSet deleted    = new BitSet();
+
+    private int docCount;
+    private int liveCount;
+
+    private final int maxScanPerTag;
+
+    private record ScoredDoc(double score, long createdAt, long articleId) {}
+
+    // Jaccard, puis le plus récent, puis l'id le plus grand
+    private static final Comparator<ScoredDoc> PAR_SIMILARITE = Comparator
+            .comparingDouble(ScoredDoc::score)
+            .thenComparingLong(ScoredDoc::createdAt)
+            .thenComparingLong(ScoredDoc::articleId);
+
+    public RelatedArticlesIndex() {
+        this(MAX_SCAN_PAR_TAG);
+    }
+
+    /** @param maxScanPerTag postings lus au plus par tag de l'article source, les plus récents */
+    public RelatedArticlesIndex(int maxScanPerTag) {
+        this.maxScanPerTag = maxScanPerTag;
+    }
+
+    // --- Écriture ---
+
+    /** @param createdAtMillis date de création (epoch ms), départage les similarités égales */
+    public void upsert(long articleId, Collection<String> tagNames, boolean isPublished, long createdAtMillis) {
+        Set<String> distinctTags = new LinkedHashSet<>();
+        if (tagNames != null) distinctTags.addAll(tagNames);
+
+        lock.writeLock().lock();
+        try {
+            removeLocked(articleId);
+            if (distinctTags.isEmpty()) return;   // sans tag, jamais similaire à rien
+
+            int ord = docCount++;
+            ensureCapacity(ord + 1);
+            articleIds[ord] = articleId;
+            createdAt[ord]  = createdAtMillis;
+
+            int tagCount     = isPublished ? distinctTags.size() : 0;
+            Postings[] lists = new Postings[distinctTags.size()];
+            int i = 0;
+            for (String tag : distinctTags) {
+                Postings postings = tags.computeIfAbsent(tag, k -> new Postings());
+                postings.add(ord, tagCount);
+                lists[i++] = postings;
+            }
+            docTags[ord] = lists;
+            ordinals.put(articleId, ord);
+
+            liveCount++;
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long articleId) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(articleId);
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return liveCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // --- Lecture ---
+
+    /**
+     * Articles publiés partageant au moins un tag avec l'article donné, du plus au moins similaire.
+     * Coût : Σ min(taille de la liste, maxScanPerTag) sur ses tags, quel que soit le nombre d'articles.
+     */
+    public List<Long> related(long articleId, int limit) {
+        if (limit <= 0) return List.of();
+
+        lock.readLock().lock();
+        try {
+            Integer source = ordinals.get(articleId);
+            if (source == null) return List.of();
+
+            Postings[] lists = docTags[source];
+            int sourceTags   = lists.length;
+            int[] cursors    = new int[sourceTags];
+            int[] floors     = new int[sourceTags];
+            // Sous le plancher d'une liste plafonnée, le compte de tags communs de la fusion peut être incomplet
+            int exactFrom = 0;
+            for (int t = 0; t < sourceTags; t++) {
+                cursors[t] = lists[t].size() - 1;
+                floors[t]  = Math.max(0, lists[t].size() - maxScanPerTag);
+                if (floors[t] > 0) exactFrom = Math.max(exactFrom, lists[t].doc(floors[t]));
+            }
+
+            // Ordinaux décroissants : les articles récents passent en premier, les ex aequo
+            // plus anciens qui suivent n'entrent plus dans le tas
+            PriorityQueue<ScoredDoc> top = new PriorityQueue<>(limit, PAR_SIMILARITE);
+            while (true) {
+                // Plus grand ordinal sous les curseurs : le nombre de listes qui le contiennent = tags communs
+                int doc = -1;
+                for (int t = 0; t < sourceTags; t++) {
+                    if (cursors[t] >= floors[t]) doc = Math.max(doc, lists[t].doc(cursors[t]));
+                }
+                if (doc < 0) break;
+
+                int common      = 0;
+                int docTagCount = 0;
+                for (int t = 0; t < sourceTags; t++) {
+                    if (cursors[t] >= floors[t] && lists[t].doc(cursors[t]) == doc) {
+                        docTagCount = lists[t].freq(cursors[t]);
+                        common++;
+                        cursors[t]--;
+                    }
+                }
+                if (docTagCount == 0 || doc == source || deleted.get(doc)) continue;
+                if (doc < exactFrom) common = commonTags(lists, docTags[doc]);
+
+                double score = (double) common / (sourceTags + docTagCount - common);
+                if (top.size() == limit) {
+                    ScoredDoc weakest = top.peek();
+                    if (score < weakest.score()) continue;
+                    if (score == weakest.score() && createdAt[doc] < weakest.createdAt()) continue;
+                }
+                ScoredDoc scored = new ScoredDoc(score, createdAt[doc], articleIds[doc]);
+                if (top.size() < limit) {
+                    top.add(scored);
+                } else if (PAR_SIMILARITE.compare(scored, top.peek()) > 0) {
+                    top.poll();
+                    top.add(scored);
+                }
+            }
+
+            List<ScoredDoc> ranked = new ArrayList<>(top);
+            ranked.sort(PAR_SIMILARITE.reversed());
+            return ranked.stream().map(ScoredDoc::articleId).toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // --- Interne ---
+
+    private static int commonTags(Postings[] source, Postings[] candidate) {
+        int common = 0;
+        for (Postings postings : candidate) {
+            for (Postings sourcePostings : source) {
+                if (postings == sourcePostings) {
+                    common++;
+                    break;
+                }
+            }
+        }
+        return common;
+    }
+
+    private void removeLocked(long articleId) {
+        Integer ord = ordinals.remove(articleId);
+        if (ord == null) return;
+        deleted.set(ord);
+        docTags[ord] = AUCUN_TAG;
+        liveCount--;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity <= articleIds.length) return;
+        int newLength = Math.max(capacity, articleIds.length * 2);
+        articleIds = Arrays.copyOf(articleIds, newLength);
+        createdAt  = Arrays.copyOf(createdAt, newLength);
+        docTags    = Arrays.copyOf(docTags, newLength);
+    }
+
+    private void compactIfNeeded() {
+        int dead = docCount - liveCount;
+        if (dead < SEUIL_COMPACTAGE || dead < liveCount) return;
+
+        int[] remap = new int[docCount];
+        int next = 0;
+        for (int old = 0; old < docCount; old++) {
+            if (deleted.get(old)) {
+                remap[old] = -1;
+                continue;
+            }
+            remap[old]       = next;
+            articleIds[next] = articleIds[old];
+            createdAt[next]  = createdAt[old];
+            docTags[next]    = docTags[old];
+            next++;
+        }
+        Arrays.fill(docTags, next, docCount, null);
+        deleted.clear();
+
+        tags.values().removeIf(postings -> {
+            postings.remap(remap);
+            return postings.size() == 0;
+        });
+        ordinals.replaceAll((id, ord) -> remap[ord]);
+        docCount = next;
+    }
+}
@@ -0,0 +1,106 @@
+package com.blog.search;
+
+import com.blog.entity.Article;
+import com.blog.entity.Tag;
+import com.blog.event.ArticleChangedEvent;
+import com.blog.repository.ArticleRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Alimente {@link RelatedArticlesIndex} : reconstruction par lots au démarrage,
+ * puis mise à jour incrémentale après chaque commit d'article.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RelatedArticlesIndexer {
+
+    private final ArticleRepository articleRepository;
+    private final PlatformTransactionManager transactionManager;
+
+    private final RelatedArticlesIndex index = new RelatedArticlesIndex();
+
+    // Articles modifiés pendant la reconstruction : l'événement fait foi sur le lot
+    private final Set<Long> touchedDuringRebuild = new HashSet<>();
+    private boolean rebuilding;
+
+    @Value("${app.related.batch-size:500}")
+    private int batchSize;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        synchronized (touchedDuringRebuild) {
+            rebuilding = true;
+        }
+        long start = System.currentTimeMillis();
+
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        Long after = 0L;
+        while (after != null) {
+            final Long from = after;
+            after = readOnly.execute(status -> indexBatch(from));
+        }
+
+        synchronized (touchedDuringRebuild) {
+            touchedDuringRebuild.clear();
+            rebuilding = false;
+        }
+        log.info("Index des articles similaires construit : {} articles en {} ms",
+                index.size(), System.currentTimeMillis() - start);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onArticleChanged(ArticleChangedEvent event) {
+        if (event.type() == ArticleChangedEvent.Type.COVER_CHANGED) return;
+        synchronized (touchedDuringRebuild) {
+            if (rebuilding) touchedDuringRebuild.add(event.articleId());
+            if (event.type() == ArticleChangedEvent.Type.DELETED) {
+                index.remove(event.articleId());
+            } else {
+                index.upsert(event.articleId(), event.tags(), event.published(), epochMillis(event.createdAt()));
+            }
+        }
+    }
+
+    /** Pendant la reconstruction, la réponse ne couvre que les articles déjà indexés. */
+    public List<Long> related(Long articleId, int limit) {
+        return index.related(articleId, limit);
+    }
+
+    // Retourne le dernier id du lot, ou null quand tout est indexé
+    private Long indexBatch(Long after) {
+        List<Long> ids = articleRepository.findIdsAfter(after, PageRequest.of(0, batchSize));
+        if (ids.isEmpty()) return null;
+
+        for (Article article : articleRepository.findWithTagsByIdIn(ids)) {
+            synchronized (touchedDuringRebuild) {
+                if (touchedDuringRebuild.contains(article.getId())) continue;
+                index.upsert(article.getId(), article.getTags().stream().map(Tag::getName).toList(),
+                        article.isPublished(), epochMillis(article.getCreatedAt()));
+            }
+        }
+        return ids.get(ids.size() - 1);
+    }
+
+    // Seul l'ordre compte : n'importe quel fuseau fixe convient
+    private static long epochMillis(LocalDateTime dateTime) {
+        return dateTime == null ? 0 : dateTime.toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+}
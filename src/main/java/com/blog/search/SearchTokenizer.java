@@ -0,0 +1,25 @@
+package com.blog.search;
+
+import com.blog.util.TextNormalizer;
+import lombok.experimental.UtilityClass;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+@UtilityClass
+public class SearchTokenizer {
+
+    private static final Pattern SEPARATEURS = Pattern.compile("[^a-z0-9]+");
+    private static final int LONGUEUR_MIN    = 2;
+
+    /** Même pliage que les slugs (accents, casse) puis découpage sur tout ce qui n'est pas [a-z0-9]. */
+    public static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) return List.of();
+        List<String> tokens = new ArrayList<>();
+        for (String token : SEPARATEURS.split(TextNormalizer.fold(text))) {
+            if (token.length() >= LONGUEUR_MIN) tokens.add(token);
+        }
+        return tokens;
+    }
+}
@@ -0,0 +1,120 @@
+package com.blog.security;
+
+import com.blog.event.UserChangedEvent;
+import com.blog.exception.ResourceNotFoundException;
+import com.blog.repository.UserRepository;
+import com.blog.service.MonitoredCache;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.github.benmanes.caffeine.cache.stats.ConcurrentStatsCounter;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * UserDetailsService avec cache borné (taille + TTL) d'instantanés {@link UserPrincipal}.
+ *
+ * <p>Les instantanés sont indexés par id ; username et email ne mènent qu'à l'id, comme
+ * la table slug → id d'{@link com.blog.service.ArticleCache}. Toute modification de l'entité
+ * retire l'entrée par id après commit, sans parcourir le cache. Chaque invalidation
+ * incrémente un compteur : un chargement qui a vu le compteur bouger retire sa propre
+ * valeur, une lecture antérieure au commit ne survit donc pas à l'invalidation.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CachedUserDetailsService implements UserDetailsService, MonitoredCache {
+
+    private final UserRepository userRepository;
+
+    @Value("${app.security.user-cache.max-size:10000}")
+    private long maxSize;
+
+    @Value("${app.security.user-cache.ttl:5m}")
+    private Duration ttl;
+
+    private Cache<Long, UserPrincipal> users;
+    private Cache<String, Long> ids;
+
+    private final ConcurrentStatsCounter statsCounter = new ConcurrentStatsCounter();
+    private final AtomicLong invalidations = new AtomicLong();
+
+    @PostConstruct
+    void init() {
+        users = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .build();
+        ids = Caffeine.newBuilder()
+                .maximumSize(maxSize * 2)
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    @Override
+    public UserDetails loadUserByUsername(String usernameOrEmail) {
+        Long id = ids.getIfPresent(usernameOrEmail);
+        UserPrincipal cached = id == null ? null : users.getIfPresent(id);
+        // username ou email modifiés depuis : la correspondance est périmée
+        if (cached != null && (usernameOrEmail.equals(cached.username()) || usernameOrEmail.equals(cached.email()))) {
+            statsCounter.recordHits(1);
+            return cached;
+        }
+        statsCounter.recordMisses(1);
+
+        long seen = invalidations.get();
+        UserPrincipal loaded = userRepository.findByUsername(usernameOrEmail)
+                .or(() -> userRepository.findByEmail(usernameOrEmail))
+                .map(UserPrincipal::from)
+                .orElseThrow(() -> new ResourceNotFoundException(
+                        "Utilisateur", "username/email", usernameOrEmail));
+
+        users.put(loaded.id(), loaded);
+        ids.put(loaded.username(), loaded.id());
+        ids.put(loaded.email(), loaded.id());
+        if (invalidations.get() != seen) users.invalidate(loaded.id());
+        return loaded;
+    }
+
+    public void invalidate(Long userId) {
+        invalidations.incrementAndGet();
+        users.invalidate(userId);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        invalidate(event.userId());
+        log.debug("Cache utilisateur invalidé : id={}", event.userId());
+    }
+
+    @Override
+    public String name() {
+        return "users";
+    }
+
+    @Override
+    public long estimatedSize() {
+        return users.estimatedSize();
+    }
+
+    @Override
+    public CacheStats stats() {
+        return statsCounter.snapshot();
+    }
+
+    @Override
+    public void invalidateAll() {
+        invalidations.incrementAndGet();
+        users.invalidateAll();
+        ids.invalidateAll();
+    }
+}
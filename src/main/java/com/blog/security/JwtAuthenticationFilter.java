@@ -6,6 +6,7 @@ import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -16,6 +17,7 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.Optional;
 
 @Slf4j
 @Component
@@ -24,6 +26,10 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtService jwtService;
     private final UserDetailsService userDetailsService;
+    private final UserSecurityStateCache securityStateCache;
+
+    @Value("${app.security.stateless-jwt.enabled:false}")
+    private boolean statelessJwt;
 
     @Override
     protected void doFilterInternal(
@@ -41,21 +47,35 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         }
 
         final String jwt = authHeader.substring(7);
-        final String username;
+        final Optional<VerifiedToken> verified = jwtService.verify(jwt);
 
-        try {
-            username = jwtService.extractUsername(jwt);
-        } catch (Exception e) {
-            log.warn("Impossible d'extraire le username du token: {}", e.getMessage());
+        if (verified.isEmpty()) {
             filterChain.doFilter(request, response);
             return;
         }
 
+        final String username = verified.get().username();
 
         if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+            Optional<UserPrincipal> fromClaims = statelessJwt
+                    ? jwtService.toPrincipal(verified.get())
+                    : Optional.empty();
+
+            UserDetails userDetails;
+            if (fromClaims.isPresent()) {
+                // Mode sans état : seul le cache local de versions peut interroger la base
+                UserPrincipal principal = fromClaims.get();
+                if (!securityStateCache.isCurrent(principal.id(), principal.securityVersion())) {
+                    log.debug("Token périmé pour {} (rôle, mot de passe ou statut modifié)", username);
+                    filterChain.doFilter(request, response);
+                    return;
+                }
+                userDetails = principal;
+            } else {
+                userDetails = userDetailsService.loadUserByUsername(username);
+            }
 
-            if (jwtService.isTokenValid(jwt, userDetails)) {
+            if (username.equals(userDetails.getUsername())) {
                 UsernamePasswordAuthenticationToken authToken =
                         new UsernamePasswordAuthenticationToken(
                                 userDetails, null, userDetails.getAuthorities()
@@ -1,32 +1,82 @@
 package com.blog.security;
 
+import com.blog.entity.Role;
+import com.blog.entity.User;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
 import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.HexFormat;
 import java.util.Map;
+import java.util.Optional;
 import java.util.function.Function;
 
 @Slf4j
 @Service
 public class JwtService {
 
+    public static final String CLAIM_USER_ID = "uid";
+    public static final String CLAIM_ROLE    = "role";
+    public static final String CLAIM_VERSION = "ver";
+
     @Value("${jwt.secret}")
     private String secretKey;
 
     @Value("${jwt.expiration}")
     private long jwtExpiration;
 
+    @Value("${jwt.verified-cache.max-size:10000}")
+    private long verifiedCacheMaxSize;
+
+    private SecretKey signingKey;
+    private JwtParser parser;
+
+    // Tokens déjà vérifiés, indexés par SHA-256 ; chaque entrée expire avec son token
+    private Cache<String, VerifiedToken> verifiedTokens;
+
+    @PostConstruct
+    void init() {
+        signingKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(secretKey));
+        parser     = Jwts.parser().verifyWith(signingKey).build();
+        verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(verifiedCacheMaxSize)
+                .expireAfter(new TokenExpiry())
+                .build();
+    }
+
+    /**
+     * Embarque id, rôle et securityVersion quand le principal les connaît,
+     * pour que le mode sans état puisse se passer de la base.
+     */
     public String generateToken(UserDetails userDetails) {
-        return generateToken(new HashMap<>(), userDetails);
+        Map<String, Object> claims = new HashMap<>();
+        UserPrincipal principal = userDetails instanceof User user ? UserPrincipal.from(user)
+                : userDetails instanceof UserPrincipal p ? p : null;
+        if (principal != null) {
+            claims.put(CLAIM_USER_ID, principal.id());
+            claims.put(CLAIM_ROLE, principal.role().name());
+            claims.put(CLAIM_VERSION, principal.securityVersion());
+        }
+        return generateToken(claims, userDetails);
     }
 
     public String generateToken(Map<String, Object> extraClaims, UserDetails userDetails) {
@@ -35,46 +85,65 @@ public class JwtService {
                 .subject(userDetails.getUsername())
                 .issuedAt(new Date(System.currentTimeMillis()))
                 .expiration(new Date(System.currentTimeMillis() + jwtExpiration))
-                .signWith(getSigningKey())
+                .signWith(signingKey)
                 .compact();
     }
 
+    /**
+     * Vérifie signature et expiration en un seul parsing, ou sert le résultat déjà en cache.
+     * Retourne vide pour tout token invalide ou expiré.
+     */
+    public Optional<VerifiedToken> verify(String token) {
+        String hash = sha256(token);
+        VerifiedToken cached = verifiedTokens.getIfPresent(hash);
+        if (cached != null) {
+            return cached.isExpired() ? Optional.empty() : Optional.of(cached);
+        }
 
-    public String extractUsername(String token) {
-        return extractClaim(token, Claims::getSubject);
+        try {
+            Claims claims = parser.parseSignedClaims(token).getPayload();
+            VerifiedToken verified = new VerifiedToken(
+                    claims.getSubject(), claims.getExpiration().toInstant(), claims);
+            verifiedTokens.put(hash, verified);
+            return Optional.of(verified);
+        } catch (JwtException | IllegalArgumentException e) {
+            log.warn("Token JWT invalide: {}", e.getMessage());
+            return Optional.empty();
+        }
     }
 
-    public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
-        final Claims claims = extractAllClaims(token);
-        return claimsResolver.apply(claims);
-    }
 
+    /**
+     * Principal reconstruit à partir des seuls claims, sans mot de passe.
+     * Vide pour les tokens émis sans les claims du mode sans état.
+     */
+    public Optional<UserPrincipal> toPrincipal(VerifiedToken token) {
+        Claims claims  = token.claims();
+        Long userId    = claims.get(CLAIM_USER_ID, Long.class);
+        String role    = claims.get(CLAIM_ROLE, String.class);
+        Integer version = claims.get(CLAIM_VERSION, Integer.class);
+        if (userId == null || role == null || version == null) return Optional.empty();
 
-    private Claims extractAllClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+        return Optional.of(new UserPrincipal(
+                userId, token.username(), null, null, Role.valueOf(role), true, version, null));
     }
 
-    // --- Validation ---
-    public boolean isTokenValid(String token, UserDetails userDetails) {
-        try {
-            final String username = extractUsername(token);
-            return username.equals(userDetails.getUsername()) && !isTokenExpired(token);
-        } catch (Exception e) {
-            log.warn("Token JWT invalide: {}", e.getMessage());
-            return false;
-        }
+
+    public String extractUsername(String token) {
+        return extractClaim(token, Claims::getSubject);
     }
 
-    private boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+    public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
+        return verify(token)
+                .map(verified -> claimsResolver.apply(verified.claims()))
+                .orElseThrow(() -> new JwtException("Token JWT invalide"));
     }
 
-    private Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
+    // --- Validation ---
+    public boolean isTokenValid(String token, UserDetails userDetails) {
+        return verify(token)
+                .map(verified -> verified.username().equals(userDetails.getUsername()))
+                .orElse(false);
     }
 
     public long getExpirationTime() {
@@ -82,8 +151,31 @@ public class JwtService {
     }
 
 
-    private SecretKey getSigningKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(secretKey);
-        return Keys.hmacShaKeyFor(keyBytes);
+    private static final class TokenExpiry implements Expiry<String, VerifiedToken> {
+
+        @Override
+        public long expireAfterCreate(String hash, VerifiedToken token, long currentTime) {
+            return Math.max(0, Duration.between(Instant.now(), token.expiresAt()).toNanos());
+        }
+
+        @Override
+        public long expireAfterUpdate(String hash, VerifiedToken token, long currentTime, long currentDuration) {
+            return expireAfterCreate(hash, token, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String hash, VerifiedToken token, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+
+    private static String sha256(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                    .digest(token.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 indisponible", e);
+        }
     }
 }
@@ -0,0 +1,38 @@
+package com.blog.security;
+
+import com.blog.event.UserChangedEvent;
+import com.blog.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Appelé par DaoAuthenticationProvider après une connexion réussie quand le hash
+ * stocké n'a pas le coût BCrypt configuré. Ce n'est pas un changement de mot de passe :
+ * securityVersion n'est pas incrémentée et les tokens restent valides.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PasswordRehashService implements UserDetailsPasswordService {
+
+    private final UserRepository userRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Override
+    @Transactional
+    public UserDetails updatePassword(UserDetails user, String newEncodedPassword) {
+        UserPrincipal principal = (UserPrincipal) user;
+        userRepository.updatePasswordHash(principal.id(), newEncodedPassword);
+        eventPublisher.publishEvent(new UserChangedEvent(principal.id()));
+        log.info("Hash du mot de passe recalculé pour {}", principal.username());
+
+        return new UserPrincipal(principal.id(), principal.username(), principal.email(),
+                newEncodedPassword, principal.role(), principal.enabled(),
+                principal.securityVersion(), principal.createdAt());
+    }
+}
@@ -0,0 +1,61 @@
+package com.blog.security;
+
+import com.blog.entity.Role;
+import com.blog.entity.User;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Instantané immuable et détaché d'un utilisateur, utilisable comme principal sans session JPA.
+ */
+public record UserPrincipal(
+        Long id,
+        String username,
+        String email,
+        String password,
+        Role role,
+        boolean enabled,
+        int securityVersion,
+        LocalDateTime createdAt
+) implements UserDetails {
+
+    public static UserPrincipal from(User user) {
+        return new UserPrincipal(
+                user.getId(),
+                user.getUsername(),
+                user.getEmail(),
+                user.getPassword(),
+                user.getRole(),
+                user.isEnabled(),
+                user.getSecurityVersion(),
+                user.getCreatedAt());
+    }
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return List.of(new SimpleGrantedAuthority("ROLE_" + role.name()));
+    }
+
+    @Override
+    public String getUsername()              { return username; }
+
+    @Override
+    public String getPassword()              { return password; }
+
+    @Override
+    public boolean isAccountNonExpired()     { return true; }
+
+    @Override
+    public boolean isAccountNonLocked()      { return true; }
+
+    @Override
+    public boolean isCredentialsNonExpired() { return true; }
+
+    @Override
+    public boolean isEnabled()               { return enabled; }
+}
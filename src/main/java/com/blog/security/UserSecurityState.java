@@ -0,0 +1,6 @@
+package com.blog.security;
+
+/**
+ * Projection minimale d'un utilisateur pour valider un JWT sans état.
+ */
+public record UserSecurityState(int securityVersion, boolean enabled) {}
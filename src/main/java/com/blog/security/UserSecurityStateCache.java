@@ -0,0 +1,57 @@
+package com.blog.security;
+
+import com.blog.event.UserChangedEvent;
+import com.blog.repository.UserRepository;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import jakarta.annotation.PostConstruct;
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Cache local de (securityVersion, enabled) par utilisateur. Sa durée de vie courte
+ * borne le délai de prise en compte d'un changement de rôle ou d'une désactivation.
+ */
+@Component
+@RequiredArgsConstructor
+public class UserSecurityStateCache {
+
+    private final UserRepository userRepository;
+
+    @Value("${app.security.stateless-jwt.version-ttl:30s}")
+    private Duration ttl;
+
+    @Value("${app.security.stateless-jwt.cache-size:100000}")
+    private long maxSize;
+
+    private LoadingCache<Long, Optional<UserSecurityState>> states;
+
+    @PostConstruct
+    void init() {
+        states = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .build(userRepository::findSecurityStateById);
+    }
+
+    /** true si l'utilisateur existe, est actif et n'a pas changé depuis l'émission du token. */
+    public boolean isCurrent(Long userId, int tokenVersion) {
+        return states.get(userId)
+                .map(state -> state.enabled() && state.securityVersion() == tokenVersion)
+                .orElse(false);
+    }
+
+    public void invalidate(Long userId) {
+        states.invalidate(userId);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        invalidate(event.userId());
+    }
+}
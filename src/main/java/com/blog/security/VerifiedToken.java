@@ -0,0 +1,15 @@
+package com.blog.security;
+
+import io.jsonwebtoken.Claims;
+
+import java.time.Instant;
+
+/**
+ * Résultat d'une vérification JWT (signature + expiration) : le token n'est parsé qu'une fois.
+ */
+public record VerifiedToken(String username, Instant expiresAt, Claims claims) {
+
+    public boolean isExpired() {
+        return !expiresAt.isAfter(Instant.now());
+    }
+}
@@ -0,0 +1,192 @@
+package com.blog.service;
+
+import com.blog.dto.response.ArticleResponse;
+import com.blog.event.ArticleChangedEvent;
+import com.blog.event.CommentChangedEvent;
+import com.blog.util.SingleFlight;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Cache borné (taille + TTL) des {@link ArticleResponse}, indexé par id, avec une table slug → id.
+ *
+ * <p>Les absences passent par {@link SingleFlight} : un seul chargement par id ou par slug,
+ * quel que soit le nombre de lecteurs simultanés. Chaque invalidation incrémente un compteur
+ * avant de retirer l'entrée ; un chargement qui a vu le compteur bouger retire sa propre
+ * valeur, une lecture antérieure au commit ne survit donc pas à l'invalidation.
+ */
+@Slf4j
+@Component
+public class ArticleCache implements MonitoredCache {
+
+    @Value("${app.cache.articles.max-size:10000}")
+    private long maxSize;
+
+    @Value("${app.cache.articles.ttl:10m}")
+    private Duration ttl;
+
+    @Value("${app.cache.articles.load-timeout:5s}")
+    private Duration loadTimeout;
+
+    private Cache<Long, ArticleResponse> articles;
+    private Cache<String, Long> slugs;
+
+    private SingleFlight<Long, ArticleResponse>   idLoads;
+    private SingleFlight<String, ArticleResponse> slugLoads;
+    private final AtomicLong invalidations = new AtomicLong();
+
+    @PostConstruct
+    void init() {
+        articles = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        slugs = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .build();
+        idLoads   = new SingleFlight<>(loadTimeout);
+        slugLoads = new SingleFlight<>(loadTimeout);
+    }
+
+    public ArticleResponse getById(Long id, Function<Long, ArticleResponse> loader) {
+        ArticleResponse cached = articles.getIfPresent(id);
+        if (cached != null) return cached;
+
+        return idLoads.execute(id, () -> {
+            long seen = invalidations.get();
+            ArticleResponse loaded = loader.apply(id);
+            articles.put(id, loaded);
+            if (invalidations.get() != seen) articles.invalidate(id);
+            return loaded;
+        });
+    }
+
+    /**
+     * Articles des ids donnés, dans cet ordre : les présents viennent du cache, les absents
+     * sont chargés en un seul appel (sans SingleFlight). Les ids introuvables, supprimés
+     * depuis le calcul de la liste, sont omis au lieu de faire échouer l'ensemble.
+     */
+    public List<ArticleResponse> getAll(List<Long> ids, Function<List<Long>, List<ArticleResponse>> loader) {
+        Map<Long, ArticleResponse> found = new HashMap<>();
+        List<Long> misses = new ArrayList<>();
+        for (Long id : ids) {
+            ArticleResponse cached = articles.getIfPresent(id);
+            if (cached != null) found.put(id, cached);
+            else misses.add(id);
+        }
+
+        if (!misses.isEmpty()) {
+            long seen = invalidations.get();
+            List<ArticleResponse> loaded = loader.apply(misses);
+            loaded.forEach(article -> articles.put(article.getId(), article));
+            if (invalidations.get() != seen) loaded.forEach(article -> articles.invalidate(article.getId()));
+            loaded.forEach(article -> found.put(article.getId(), article));
+        }
+        return ids.stream().map(found::get).filter(Objects::nonNull).toList();
+    }
+
+    /**
+     * Le slug est d'abord résolu en id (requête légère en cas d'absence), puis l'article
+     * est lu par id : une seule entrée par article, quel que soit le chemin d'accès.
+     */
+    public ArticleResponse getBySlug(String slug, Function<String, Long> idResolver,
+                                     Function<Long, ArticleResponse> loader) {
+        Long id = slugs.getIfPresent(slug);
+        if (id != null) {
+            ArticleResponse cached = getById(id, loader);
+            if (slug.equals(cached.getSlug())) return cached;
+            // Slug renommé depuis : la correspondance est périmée
+            slugs.invalidate(slug);
+        }
+
+        return slugLoads.execute(slug, () -> {
+            Long resolved = idResolver.apply(slug);
+            slugs.put(slug, resolved);
+            return getById(resolved, loader);
+        });
+    }
+
+    /** Entrée en cache sans chargement, pour répondre aux requêtes conditionnelles. */
+    public Optional<ArticleResponse> peek(Long id) {
+        return Optional.ofNullable(articles.asMap().get(id));
+    }
+
+    public Optional<ArticleResponse> peekBySlug(String slug) {
+        Long id = slugs.getIfPresent(slug);
+        return id == null ? Optional.empty() : peek(id).filter(article -> slug.equals(article.getSlug()));
+    }
+
+    public void invalidate(Long articleId) {
+        invalidations.incrementAndGet();
+        articles.invalidate(articleId);
+        idLoads.forget(articleId);
+    }
+
+    /**
+     * Reporte sur les entrées en cache les vues qui viennent d'être écrites en base,
+     * pour qu'elles restent égales à la colonne sans être rechargées. L'époque n'est pas
+     * touchée : un chargement en cours reste en cache avec l'ancien compteur, écart toléré
+     * (les vues sont approximatives et hors ETag) plutôt que de relancer une lecture par passage.
+     */
+    public void addViews(Map<Long, Long> deltas) {
+        deltas.forEach((id, delta) -> articles.asMap().computeIfPresent(id,
+                (key, article) -> article.toBuilder().viewCount(article.getViewCount() + delta).build()));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onArticleChanged(ArticleChangedEvent event) {
+        invalidate(event.articleId());
+        if (event.type() == ArticleChangedEvent.Type.DELETED) {
+            slugs.invalidate(event.slug());
+            slugLoads.forget(event.slug());
+        }
+        log.debug("Cache article invalidé : id={}", event.articleId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCommentChanged(CommentChangedEvent event) {
+        invalidate(event.articleId());
+    }
+
+    @Override
+    public String name() {
+        return "articles";
+    }
+
+    @Override
+    public long estimatedSize() {
+        return articles.estimatedSize();
+    }
+
+    @Override
+    public CacheStats stats() {
+        return articles.stats();
+    }
+
+    @Override
+    public void invalidateAll() {
+        invalidations.incrementAndGet();
+        articles.invalidateAll();
+        slugs.invalidateAll();
+        idLoads.forgetAll();
+        slugLoads.forgetAll();
+    }
+}
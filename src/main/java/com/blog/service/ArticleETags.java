@@ -0,0 +1,48 @@
+package com.blog.service;
+
+import com.blog.dto.response.ArticleResponse;
+import com.blog.repository.ArticleVersion;
+import lombok.experimental.UtilityClass;
+
+/**
+ * Validateurs HTTP d'un article.
+ *
+ * <ul>
+ *   <li>Lecture : ETag faible W/"id-version-commentCount[-v]", pour If-None-Match. Il change
+ *       avec les commentaires et les déclinaisons de couverture ; faible parce que viewCount,
+ *       présent dans le corps, évolue sans lui.</li>
+ *   <li>Écriture : ETag fort "id-version", renvoyé par la création et la modification, et seul
+ *       accepté par If-Match (comparaison forte, RFC 9110 §13.1.1). Un nouveau commentaire ou
+ *       des déclinaisons générées ne le changent pas.</li>
+ * </ul>
+ * Pas de Last-Modified : updated_at ne bouge pas avec les commentaires.
+ */
+@UtilityClass
+public class ArticleETags {
+
+    public static ArticleVersion versionOf(ArticleResponse article) {
+        return new ArticleVersion(article.getId(), article.getVersion(),
+                article.getCommentCount(), article.getCoverVariants() != null);
+    }
+
+    public static String representation(ArticleVersion version) {
+        return "W/\"" + version.id() + "-" + version.version() + "-" + version.commentCount()
+                + (version.coverVariants() ? "-v" : "") + "\"";
+    }
+
+    public static String strong(ArticleVersion version) {
+        return "\"" + version.id() + "-" + version.version() + "\"";
+    }
+
+    /** En-tête absent, "*" ou liste contenant exactement l'ETag fort de cette version ; un ETag faible ne correspond jamais. */
+    public static boolean satisfiesIfMatch(ArticleVersion version, String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank()) return true;
+
+        String expected = strong(version);
+        for (String tag : ifMatch.split(",")) {
+            tag = tag.trim();
+            if (tag.equals("*") || tag.equals(expected)) return true;
+        }
+        return false;
+    }
+}
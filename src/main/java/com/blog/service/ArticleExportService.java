@@ -0,0 +1,224 @@
+package com.blog.service;
+
+import com.blog.dto.request.ArticleSearchFilter;
+import com.blog.exception.BadRequestException;
+import com.blog.repository.ArticleExportRow;
+import com.blog.repository.ArticlePredicate;
+import com.blog.repository.ArticleRepository;
+import com.blog.repository.CommentExportRow;
+import com.fasterxml.jackson.annotation.JsonUnwrapped;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.querydsl.core.types.Predicate;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Export complet des articles (tags et commentaires compris) en NDJSON ou CSV.
+ *
+ * <p>Les articles sont lus par un curseur en avant seulement (fetch size) en projection :
+ * rien ne s'accumule dans le contexte de persistance. Les tags sont chargés par paquets d'ids ;
+ * les commentaires arrivent par un second curseur trié (article_id, path), fusionné avec celui
+ * des articles, si bien qu'aucun paquet ne dépend du nombre de commentaires. Les deux curseurs
+ * lisent le même instantané (REPEATABLE READ).
+ */
+@Slf4j
+@Service
+public class ArticleExportService {
+
+    private static final int WRITE_BUFFER_SIZE = 64 * 1024;
+
+    private static final String CSV_HEADER =
+            "type,id,article_id,parent_id,slug,title,summary,content,published,author,cover_image_url,tags,comment_count,created_at,updated_at";
+
+    private final ArticleRepository articleRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ObjectWriter jsonWriter;
+
+    // false sur H2 : le filtre keyword retombe sur LIKE
+    @Value("${app.search.full-text:true}")
+    private boolean fullTextSearch;
+
+    @Value("${app.export.batch-size:500}")
+    private int batchSize;
+
+    public ArticleExportService(ArticleRepository articleRepository,
+                                PlatformTransactionManager transactionManager,
+                                ObjectMapper objectMapper) {
+        this.articleRepository   = articleRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.readOnlyTransaction.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        this.jsonWriter          = objectMapper.writer();
+    }
+
+    public enum Format {
+        NDJSON(MediaType.APPLICATION_NDJSON_VALUE, "ndjson"),
+        CSV("text/csv;charset=UTF-8", "csv");
+
+        private final String contentType;
+        private final String extension;
+
+        Format(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension   = extension;
+        }
+
+        public String contentType() { return contentType; }
+        public String extension()   { return extension; }
+
+        public static Format of(String value) {
+            try {
+                return valueOf(value.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new BadRequestException("Format d'export inconnu : " + value + " (ndjson ou csv)");
+            }
+        }
+    }
+
+    /** Ligne NDJSON : colonnes de l'article à plat, puis tags et commentaires. */
+    private record ExportedArticle(
+            @JsonUnwrapped ArticleExportRow article,
+            List<String> tags,
+            List<CommentExportRow> comments) {}
+
+    private record Batch(List<ArticleExportRow> articles, Map<Long, List<String>> tags) {}
+
+    /** Curseur des commentaires, avancé au rythme des articles (tous deux triés par article_id). */
+    private static final class CommentCursor {
+
+        private final Iterator<CommentExportRow> iterator;
+        private CommentExportRow current;
+
+        CommentCursor(Iterator<CommentExportRow> iterator) {
+            this.iterator = iterator;
+            advance();
+        }
+
+        /** Saute les commentaires d'articles déjà passés, puis indique si le suivant appartient à cet article. */
+        boolean hasNextFor(long articleId) {
+            while (current != null && current.articleId() < articleId) advance();
+            return current != null && current.articleId() == articleId;
+        }
+
+        CommentExportRow next() {
+            CommentExportRow row = current;
+            advance();
+            return row;
+        }
+
+        private void advance() {
+            current = iterator.hasNext() ? iterator.next() : null;
+        }
+    }
+
+    /** Écrit l'export sur le flux donné, sans le fermer. Renvoie le nombre d'articles exportés. */
+    public long export(ArticleSearchFilter filter, Format format, OutputStream out) {
+        long started = System.nanoTime();
+        Long exported = readOnlyTransaction.execute(status -> {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), WRITE_BUFFER_SIZE);
+            Predicate predicate = ArticlePredicate.build(filter, fullTextSearch);
+            try (Stream<ArticleExportRow> rows = articleRepository.streamForExport(predicate, batchSize);
+                 Stream<CommentExportRow> commentRows = articleRepository.streamCommentsForExport(predicate, batchSize)) {
+
+                if (format == Format.CSV) writer.write(CSV_HEADER + "\n");
+
+                long count = 0;
+                Iterator<ArticleExportRow> iterator = rows.iterator();
+                CommentCursor comments = new CommentCursor(commentRows.iterator());
+                List<ArticleExportRow> articles = new ArrayList<>(batchSize);
+                while (iterator.hasNext()) {
+                    articles.add(iterator.next());
+                    if (articles.size() == batchSize || !iterator.hasNext()) {
+                        write(loadBatch(articles), comments, format, writer);
+                        writer.flush();
+                        count += articles.size();
+                        articles.clear();
+                    }
+                }
+                writer.flush();
+                return count;
+            } catch (IOException e) {
+                throw new UncheckedIOException("Erreur d'écriture de l'export", e);
+            }
+        });
+        log.info("Export {} terminé : {} articles en {} ms",
+                format, exported, (System.nanoTime() - started) / 1_000_000);
+        return exported;
+    }
+
+    private Batch loadBatch(List<ArticleExportRow> articles) {
+        List<Long> ids = articles.stream().map(ArticleExportRow::id).toList();
+        return new Batch(articles, articleRepository.findTagNamesByArticleIds(ids));
+    }
+
+    private void write(Batch batch, CommentCursor comments, Format format, Writer writer) throws IOException {
+        for (ArticleExportRow article : batch.articles()) {
+            List<String> tags = batch.tags().getOrDefault(article.id(), List.of());
+
+            if (format == Format.NDJSON) {
+                // Une ligne JSON par article : seuls les commentaires de cet article sont retenus
+                List<CommentExportRow> articleComments = new ArrayList<>();
+                while (comments.hasNextFor(article.id())) articleComments.add(comments.next());
+                writer.write(jsonWriter.writeValueAsString(new ExportedArticle(article, tags, articleComments)));
+                writer.write('\n');
+            } else {
+                writeCsvArticle(article, tags, writer);
+                while (comments.hasNextFor(article.id())) writeCsvComment(comments.next(), writer);
+            }
+        }
+    }
+
+    // Une ligne "article" suivie de ses lignes "comment" (article_id renseigné)
+    private static void writeCsvArticle(ArticleExportRow article, List<String> tags, Writer writer) throws IOException {
+        writeCsvRow(writer, "article", article.id(), null, null, article.slug(), article.title(), article.summary(),
+                article.content(), article.published(), article.author(), article.coverImageUrl(),
+                String.join("|", tags), article.commentCount(), article.createdAt(), article.updatedAt());
+    }
+
+    private static void writeCsvComment(CommentExportRow comment, Writer writer) throws IOException {
+        writeCsvRow(writer, "comment", comment.id(), comment.articleId(), comment.parentId(), null, null, null,
+                comment.content(), null, comment.author(), null,
+                null, null, comment.createdAt(), comment.updatedAt());
+    }
+
+    private static void writeCsvRow(Writer writer, Object... values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) writer.write(',');
+            writeCsvValue(writer, values[i]);
+        }
+        writer.write('\n');
+    }
+
+    private static void writeCsvValue(Writer writer, Object value) throws IOException {
+        if (value == null) return;
+        String text = value instanceof LocalDateTime dateTime ? dateTime.toString() : String.valueOf(value);
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            writer.write(text);
+            return;
+        }
+        writer.write('"');
+        writer.write(text.replace("\"", "\"\""));
+        writer.write('"');
+    }
+}
@@ -0,0 +1,247 @@
+package com.blog.service;
+
+import com.blog.dto.request.ArticleRequest;
+import com.blog.dto.response.ImportReportResponse;
+import com.blog.entity.Article;
+import com.blog.entity.Tag;
+import com.blog.entity.User;
+import com.blog.event.ArticleChangedEvent;
+import com.blog.exception.ResourceNotFoundException;
+import com.blog.repository.ArticleRepository;
+import com.blog.repository.UserRepository;
+import com.blog.util.Slugs;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Import en masse d'articles au format NDJSON (un ArticleRequest par ligne).
+ *
+ * <p>Le flux est lu ligne par ligne ; les enregistrements valides sont regroupés en lots
+ * commités chacun dans sa transaction. Par lot : une résolution de tags, une réservation
+ * des slugs (SlugAllocator), puis des insertions JDBC groupées (articles et article_tags).
+ * Un lot rejeté par la base est rejoué ligne par ligne pour isoler les fautifs.
+ */
+@Slf4j
+@Service
+public class ArticleImportService {
+
+    private static final int MAX_CHUNK_SIZE      = 5000;
+    private static final int MAX_REPORTED_ERRORS = 1000;
+    private static final int READ_BUFFER_SIZE    = 64 * 1024;
+
+    private final ArticleRepository articleRepository;
+    private final UserRepository userRepository;
+    private final TagDictionary tagDictionary;
+    private final TagStatistics tagStatistics;
+    private final SlugAllocator slugAllocator;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transaction;
+    private final ObjectReader requestReader;
+    private final Validator validator;
+
+    @Value("${app.import.chunk-size:500}")
+    private int defaultChunkSize;
+
+    public ArticleImportService(ArticleRepository articleRepository,
+                                UserRepository userRepository,
+                                TagDictionary tagDictionary,
+                                TagStatistics tagStatistics,
+                                SlugAllocator slugAllocator,
+                                ApplicationEventPublisher eventPublisher,
+                                PlatformTransactionManager transactionManager,
+                                ObjectMapper objectMapper,
+                                Validator validator) {
+        this.articleRepository = articleRepository;
+        this.userRepository    = userRepository;
+        this.tagDictionary     = tagDictionary;
+        this.tagStatistics     = tagStatistics;
+        this.slugAllocator     = slugAllocator;
+        this.eventPublisher    = eventPublisher;
+        this.transaction       = new TransactionTemplate(transactionManager);
+        this.requestReader     = objectMapper.readerFor(ArticleRequest.class);
+        this.validator         = validator;
+    }
+
+    private record ImportRecord(long line, ArticleRequest request) {}
+
+    private static final class Progress {
+        private final long startedAt = System.nanoTime();
+        private final List<ImportReportResponse.RecordError> errors = new ArrayList<>();
+        private long lines;
+        private long imported;
+        private long failed;
+
+        void fail(long line, String message) {
+            failed++;
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(new ImportReportResponse.RecordError(line, message));
+            }
+        }
+
+        ImportReportResponse toReport() {
+            return ImportReportResponse.builder()
+                    .lines(lines)
+                    .imported(imported)
+                    .failed(failed)
+                    .durationMs((System.nanoTime() - startedAt) / 1_000_000)
+                    .errorsTruncated(failed > errors.size())
+                    .errors(errors)
+                    .build();
+        }
+    }
+
+    /**
+     * @param chunkSize taille des lots commités (null : app.import.chunk-size)
+     */
+    public ImportReportResponse importArticles(InputStream ndjson, String username, Integer chunkSize) {
+        Long authorId = userRepository.findByUsername(username)
+                .map(User::getId)
+                .orElseThrow(() -> new ResourceNotFoundException("Utilisateur", "username", username));
+        int size = Math.max(1, Math.min(chunkSize != null ? chunkSize : defaultChunkSize, MAX_CHUNK_SIZE));
+
+        Progress progress = new Progress();
+        List<ImportRecord> chunk = new ArrayList<>(size);
+
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(ndjson, StandardCharsets.UTF_8), READ_BUFFER_SIZE)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                long lineNumber = ++progress.lines;
+                if (line.isBlank()) continue;
+
+                ImportRecord record = parse(lineNumber, line, progress);
+                if (record == null) continue;
+
+                chunk.add(record);
+                if (chunk.size() >= size) {
+                    commitChunk(chunk, authorId, progress);
+                    chunk.clear();
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Erreur de lecture du flux d'import", e);
+        }
+        if (!chunk.isEmpty()) commitChunk(chunk, authorId, progress);
+
+        ImportReportResponse report = progress.toReport();
+        log.info("Import terminé par {} : {} lignes, {} articles importés, {} erreurs en {} ms",
+                username, report.getLines(), report.getImported(), report.getFailed(), report.getDurationMs());
+        return report;
+    }
+
+    private ImportRecord parse(long lineNumber, String line, Progress progress) {
+        ArticleRequest request;
+        try {
+            request = requestReader.readValue(line);
+        } catch (JsonProcessingException e) {
+            progress.fail(lineNumber, "JSON invalide : " + e.getOriginalMessage());
+            return null;
+        }
+
+        Set<ConstraintViolation<ArticleRequest>> violations = validator.validate(request);
+        if (!violations.isEmpty()) {
+            progress.fail(lineNumber, violations.stream()
+                    .map(violation -> violation.getPropertyPath() + " : " + violation.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining(", ")));
+            return null;
+        }
+        return new ImportRecord(lineNumber, request);
+    }
+
+    private void commitChunk(List<ImportRecord> chunk, Long authorId, Progress progress) {
+        try {
+            progress.imported += transaction.execute(status -> insertChunk(chunk, authorId));
+        } catch (RuntimeException e) {
+            log.warn("Lot de {} articles rejeté ({}), reprise ligne par ligne",
+                    chunk.size(), NestedExceptionUtils.getMostSpecificCause(e).getMessage());
+            for (ImportRecord record : chunk) {
+                try {
+                    progress.imported += transaction.execute(status -> insertChunk(List.of(record), authorId));
+                } catch (RuntimeException recordError) {
+                    progress.fail(record.line(), NestedExceptionUtils.getMostSpecificCause(recordError).getMessage());
+                }
+            }
+        }
+        log.info("Import en cours : {} lignes lues, {} articles importés, {} erreurs",
+                progress.lines, progress.imported, progress.failed);
+    }
+
+    /**
+     * Les entités sont persistées sans flush intermédiaire : Hibernate regroupe les INSERT
+     * au commit (hibernate.jdbc.batch_size) et tire les ids de articles_seq par blocs de 50.
+     */
+    private int insertChunk(List<ImportRecord> records, Long authorId) {
+        User author           = userRepository.getReferenceById(authorId);
+        Map<String, Tag> tags = resolveTags(records);
+        List<String> slugs    = allocateSlugs(records);
+
+        List<Article> articles = new ArrayList<>(records.size());
+        for (int i = 0; i < records.size(); i++) {
+            ArticleRequest request = records.get(i).request();
+            articles.add(Article.builder()
+                    .title(request.getTitle())
+                    .slug(slugs.get(i))
+                    .content(request.getContent())
+                    .summary(request.getSummary())
+                    .published(request.isPublished())
+                    .author(author)
+                    .tags(tagNames(request).stream().map(tags::get).collect(Collectors.toCollection(ArrayList::new)))
+                    .build());
+        }
+
+        articleRepository.saveAll(articles);
+        tagStatistics.articlesCreated(articles);
+        articles.forEach(article ->
+                eventPublisher.publishEvent(ArticleChangedEvent.of(ArticleChangedEvent.Type.CREATED, article)));
+        return articles.size();
+    }
+
+    // Une seule résolution pour tous les tags du lot
+    private Map<String, Tag> resolveTags(List<ImportRecord> records) {
+        Set<String> names = new LinkedHashSet<>();
+        records.forEach(record -> names.addAll(tagNames(record.request())));
+
+        Map<String, Tag> byName = new HashMap<>();
+        tagDictionary.resolve(new ArrayList<>(names)).forEach(tag -> byName.put(tag.getName(), tag));
+        return byName;
+    }
+
+    private static Set<String> tagNames(ArticleRequest request) {
+        Set<String> names = new LinkedHashSet<>();
+        if (request.getTags() == null) return names;
+        for (String name : request.getTags()) {
+            if (name != null && !name.isBlank()) names.add(name.trim());
+        }
+        return names;
+    }
+
+    /** Slugs du lot dans l'ordre des enregistrements, réservés en deux requêtes pour tout le lot. */
+    private List<String> allocateSlugs(List<ImportRecord> records) {
+        return slugAllocator.allocate(records.stream().map(record -> Slugs.base(record.request().getTitle())).toList());
+    }
+}
@@ -5,25 +5,42 @@ import com.blog.dto.request.ArticleSearchFilter;
 import com.blog.dto.request.PageParametres;
 import com.blog.dto.response.ArticleResponse;
 import com.blog.dto.response.PageResponse;
+import com.blog.dto.response.SliceResponse;
+import com.blog.repository.ArticleVersion;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.InputStream;
+import java.util.List;
+
 public interface ArticleService {
     ArticleResponse createArticle(ArticleRequest request, String username);
-    ArticleResponse updateArticle(Long id, ArticleRequest request, String username);
+    ArticleResponse updateArticle(Long id, ArticleRequest request, String username, String ifMatch);
     void deleteArticle(Long id, String username);
     ArticleResponse getArticleById(Long id);
     ArticleResponse getArticleBySlug(String slug);
+    ArticleVersion getArticleVersion(Long id);
+    ArticleVersion getArticleVersionBySlug(String slug);
+    void recordView(Long articleId);
+    PageResponse<ArticleResponse> getTrendingArticles(int page, int size);
+    List<ArticleResponse> getRelatedArticles(Long id, int size);
 
 
     PageResponse<ArticleResponse> searchArticles(
             ArticleSearchFilter filter, PageParametres page);
 
 
+    SliceResponse<ArticleResponse> searchArticlesByCursor(
+            ArticleSearchFilter filter, String cursor, PageParametres page);
+
+
     PageResponse<ArticleResponse> getArticlesByAuthor(Long authorId, int page, int size);
 
 
     ArticleResponse uploadCoverImage(Long articleId, MultipartFile image, String username);
 
 
+    ArticleResponse uploadCoverImage(Long articleId, InputStream image, long contentLength, String username);
+
+
     ArticleResponse removeCoverImage(Long articleId, String username);
 }
@@ -0,0 +1,83 @@
+package com.blog.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.PreparedStatement;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Compteur de vues tamponné : une lecture n'incrémente qu'un LongAdder en mémoire,
+ * les deltas sont écrits toutes les quelques secondes en une seule requête, et à l'arrêt.
+ *
+ * <p>Chaque instance écrit ses propres deltas ; l'addition côté base les cumule.
+ * Les compteurs sont approximatifs : une vue comptée au moment précis où une entrée
+ * inactive est retirée peut être perdue, et un arrêt brutal perd le dernier intervalle.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ArticleViewCounter {
+
+    // Un seul UPDATE pour tout le lot, ids triés pour un ordre de verrouillage stable
+    private static final String FLUSH_VIEWS =
+            "UPDATE articles a SET view_count = a.view_count + d.delta "
+          + "FROM unnest(?::bigint[], ?::bigint[]) AS d(id, delta) WHERE a.id = d.id";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ArticleCache articleCache;
+
+    private final ConcurrentHashMap<Long, LongAdder> pending = new ConcurrentHashMap<>();
+
+    public void record(Long articleId) {
+        pending.computeIfAbsent(articleId, id -> new LongAdder()).increment();
+    }
+
+    /** Vues comptées localement et pas encore écrites en base. */
+    public long pending(Long articleId) {
+        LongAdder adder = pending.get(articleId);
+        return adder == null ? 0 : adder.sum();
+    }
+
+    @Scheduled(fixedDelayString = "${app.views.flush-interval:PT5S}",
+               initialDelayString = "${app.views.flush-interval:PT5S}")
+    public void flush() {
+        Map<Long, Long> deltas = new TreeMap<>();
+        pending.forEach((id, adder) -> {
+            long delta = adder.sumThenReset();
+            if (delta > 0) deltas.put(id, delta);
+            else pending.remove(id, adder);   // inactif depuis le dernier passage
+        });
+        if (deltas.isEmpty()) return;
+
+        try {
+            jdbcTemplate.update(connection -> {
+                PreparedStatement statement = connection.prepareStatement(FLUSH_VIEWS);
+                statement.setArray(1, connection.createArrayOf("bigint", deltas.keySet().toArray()));
+                statement.setArray(2, connection.createArrayOf("bigint", deltas.values().toArray()));
+                return statement;
+            });
+        } catch (DataAccessException e) {
+            // Rendus au tampon : repris au prochain passage
+            deltas.forEach((id, delta) -> pending.computeIfAbsent(id, key -> new LongAdder()).add(delta));
+            log.warn("Écriture des compteurs de vues reportée ({} articles) : {}", deltas.size(), e.getMessage());
+            return;
+        }
+
+        articleCache.addViews(deltas);
+        log.debug("Compteurs de vues écrits pour {} articles", deltas.size());
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+}
@@ -2,11 +2,16 @@ package com.blog.service;
 
 import com.blog.dto.request.CommentRequest;
 import com.blog.dto.response.CommentResponse;
+import com.blog.dto.response.CommentThreadResponse;
 import com.blog.dto.response.PageResponse;
+import com.blog.dto.response.SliceResponse;
 
 public interface CommentService {
     CommentResponse addComment(Long articleId, CommentRequest request, String username);
     CommentResponse updateComment(Long commentId, CommentRequest request, String username);
     void deleteComment(Long commentId, String username);
     PageResponse<CommentResponse> getCommentsByArticle(Long articleId, int page, int size);
+    SliceResponse<CommentResponse> getCommentsByArticle(Long articleId, String cursor, int size);
+    SliceResponse<CommentThreadResponse> getCommentThreads(Long articleId, String cursor, int size, int replies);
+    SliceResponse<CommentResponse> getReplies(Long commentId, String cursor, int size);
 }
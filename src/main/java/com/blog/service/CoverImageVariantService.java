@@ -0,0 +1,244 @@
+package com.blog.service;
+
+import com.blog.entity.Article;
+import com.blog.entity.ImageVariant;
+import com.blog.event.ArticleChangedEvent;
+import com.blog.repository.ArticleRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Génère en arrière-plan les déclinaisons (thumbnail, medium, large) d'une image de couverture.
+ * L'upload répond sans attendre ; l'original reste servi tant que les déclinaisons ne sont
+ * pas enregistrées sur l'article.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CoverImageVariantService {
+
+    private record VariantSpec(String name, int maxWidth) {}
+
+    private static final List<VariantSpec> VARIANTS = List.of(
+            new VariantSpec("thumbnail", 320),
+            new VariantSpec("medium", 768),
+            new VariantSpec("large", 1280)
+    );
+
+    // Au-delà, le décodage seul occuperait des centaines de Mo de tas
+    private static final long MAX_PIXELS = 40_000_000L;
+
+    private final ImageStorageService imageStorageService;
+    private final ArticleRepository articleRepository;
+    private final PlatformTransactionManager transactionManager;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${app.images.variants.threads:2}")
+    private int threads;
+
+    @Value("${app.images.variants.queue-capacity:100}")
+    private int queueCapacity;
+
+    private ThreadPoolExecutor executor;
+
+    @PostConstruct
+    void init() {
+        AtomicInteger counter = new AtomicInteger();
+        executor = new ThreadPoolExecutor(
+                threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "image-variants-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /** Planifie la génération après le commit qui a enregistré l'original. */
+    public void scheduleAfterCommit(Long articleId, String originalUrl) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            submit(articleId, originalUrl);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                submit(articleId, originalUrl);
+            }
+        });
+    }
+
+    /** Supprime les fichiers des déclinaisons (remplacement ou retrait de la couverture). */
+    public void deleteVariants(List<ImageVariant> variants) {
+        if (variants == null) return;
+        variants.forEach(variant -> imageStorageService.delete(variant.url()));
+    }
+
+    private void submit(Long articleId, String originalUrl) {
+        try {
+            executor.execute(() -> generate(articleId, originalUrl));
+        } catch (RejectedExecutionException e) {
+            // L'original reste servi ; un nouvel upload relancera la génération
+            log.warn("File de génération d'images pleine, déclinaisons ignorées pour l'article id={}", articleId);
+        }
+    }
+
+    private void generate(Long articleId, String originalUrl) {
+        List<ImageVariant> variants;
+        try {
+            variants = render(imageStorageService.resolve(originalUrl));
+        } catch (IOException | RuntimeException e) {
+            log.warn("Génération des déclinaisons impossible pour l'article id={} : {}", articleId, e.getMessage());
+            return;
+        }
+        if (variants.isEmpty()) return;
+
+        boolean attached;
+        try {
+            attached = attach(articleId, originalUrl, variants);
+        } catch (RuntimeException e) {
+            log.warn("Enregistrement des déclinaisons impossible pour l'article id={} : {}", articleId, e.getMessage());
+            attached = false;
+        }
+        if (!attached) {
+            // Couverture remplacée, article supprimé ou écriture en échec : fichiers orphelins
+            deleteVariants(variants);
+            return;
+        }
+        log.info("{} déclinaison(s) générée(s) pour l'article id={}", variants.size(), articleId);
+    }
+
+    private List<ImageVariant> render(Path original) throws IOException {
+        BufferedImage source = readBounded(original);
+        if (source == null) {
+            log.debug("Format non décodable par ImageIO : {}", original.getFileName());
+            return List.of();
+        }
+
+        // Déjà plus étroit que la plus petite déclinaison : l'original reste la seule version
+        if (source.getWidth() <= VARIANTS.get(0).maxWidth()) {
+            log.debug("Image de {} px, pas de déclinaison : {}", source.getWidth(), original.getFileName());
+            return List.of();
+        }
+
+        boolean alpha = source.getColorModel().hasAlpha();
+        String format = alpha ? "png" : "jpg";
+
+        List<ImageVariant> variants = new ArrayList<>();
+        // Chaque déclinaison part de l'original : pas de pertes cumulées d'une taille à l'autre ;
+        // aucune n'est produite à la largeur de l'original (ce serait une copie)
+        for (VariantSpec spec : VARIANTS) {
+            if (source.getWidth() <= spec.maxWidth()) break;
+
+            int width  = spec.maxWidth();
+            int height = Math.max(1, Math.round((float) source.getHeight() * width / source.getWidth()));
+            BufferedImage resized = resize(source, width, height, alpha);
+
+            String url = imageStorageService.store(resized, format);
+            variants.add(new ImageVariant(spec.name(), url, width, height));
+        }
+        return variants;
+    }
+
+    private static BufferedImage readBounded(Path file) throws IOException {
+        try (ImageInputStream input = ImageIO.createImageInputStream(file.toFile())) {
+            if (input == null) return null;
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+            if (!readers.hasNext()) return null;
+
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                long pixels = (long) reader.getWidth(0) * reader.getHeight(0);
+                if (pixels > MAX_PIXELS) {
+                    throw new IllegalArgumentException("Image trop grande : " + pixels + " pixels");
+                }
+                return reader.read(0);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    /** Réductions successives par moitié, puis ajustement final : plus net qu'une seule passe bilinéaire. */
+    private static BufferedImage resize(BufferedImage source, int width, int height, boolean alpha) {
+        int type = alpha ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB;
+        BufferedImage current = source;
+        int currentWidth  = source.getWidth();
+        int currentHeight = source.getHeight();
+
+        do {
+            currentWidth  = Math.max(width, currentWidth / 2);
+            currentHeight = Math.max(height, currentHeight / 2);
+
+            BufferedImage step = new BufferedImage(currentWidth, currentHeight, type);
+            Graphics2D graphics = step.createGraphics();
+            try {
+                graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+                if (!alpha) {
+                    graphics.setColor(Color.WHITE);
+                    graphics.fillRect(0, 0, currentWidth, currentHeight);
+                }
+                graphics.drawImage(current, 0, 0, currentWidth, currentHeight, null);
+            } finally {
+                graphics.dispose();
+            }
+            current = step;
+        } while (currentWidth != width || currentHeight != height);
+
+        return current;
+    }
+
+    /**
+     * Enregistre les déclinaisons si la couverture n'a pas changé depuis l'upload. UPDATE ciblé :
+     * la version et updated_at restent, un If-Match lu avant la génération reste valable ;
+     * l'ETag porte la présence des déclinaisons et COVER_CHANGED vide le cache.
+     */
+    private boolean attach(Long articleId, String originalUrl, List<ImageVariant> variants) {
+        Boolean attached = new TransactionTemplate(transactionManager).execute(status -> {
+            Article article = articleRepository.findForUpdateById(articleId).orElse(null);
+            if (article == null || !originalUrl.equals(article.getCoverImageUrl())) return false;
+
+            // Même couverture uploadée deux fois : les déclinaisons de la première génération sont libérées
+            deleteVariants(article.getCoverVariants());
+            articleRepository.updateCoverVariants(articleId, originalUrl, variants);
+            eventPublisher.publishEvent(ArticleChangedEvent.of(ArticleChangedEvent.Type.COVER_CHANGED, article));
+            return true;
+        });
+        return Boolean.TRUE.equals(attached);
+    }
+}
@@ -0,0 +1,76 @@
+package com.blog.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Contenu des petites images les plus demandées, borné en octets (et non en nombre d'entrées).
+ * Les noms de fichiers sont uniques et jamais réécrits : seule la suppression invalide.
+ */
+@Component
+public class ImageContentCache implements MonitoredCache {
+
+    @Value("${app.images.cache.max-bytes:67108864}")
+    private long maxBytes;
+
+    @Value("${app.images.cache.max-file-size:262144}")
+    private long maxFileSize;
+
+    private Cache<String, byte[]> images;
+
+    @PostConstruct
+    void init() {
+        images = Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher((String path, byte[] content) -> content.length)
+                .recordStats()
+                .build();
+    }
+
+    public boolean accepts(long size) {
+        return size <= maxFileSize;
+    }
+
+    public byte[] get(String relativePath, Path file) {
+        return images.get(relativePath, key -> {
+            try {
+                return Files.readAllBytes(file);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    public void evict(String relativePath) {
+        images.invalidate(relativePath);
+    }
+
+    @Override
+    public String name() {
+        return "images";
+    }
+
+    @Override
+    public long estimatedSize() {
+        return images.estimatedSize();
+    }
+
+    @Override
+    public CacheStats stats() {
+        return images.stats();
+    }
+
+    @Override
+    public void invalidateAll() {
+        images.invalidateAll();
+    }
+}
@@ -0,0 +1,54 @@
+package com.blog.service;
+
+import java.util.Arrays;
+import java.util.Optional;
+
+/**
+ * Formats d'image acceptés, reconnus à leurs premiers octets plutôt qu'au Content-Type
+ * annoncé par le client.
+ */
+public enum ImageFormat {
+
+    JPEG("jpg", "image/jpeg"),
+    PNG("png", "image/png"),
+    GIF("gif", "image/gif"),
+    WEBP("webp", "image/webp");
+
+    /** Octets nécessaires pour reconnaître tous les formats (RIFF....WEBP). */
+    public static final int SNIFF_LENGTH = 12;
+
+    private static final byte[] PNG_SIGNATURE = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n'};
+
+    private final String extension;
+    private final String contentType;
+
+    ImageFormat(String extension, String contentType) {
+        this.extension   = extension;
+        this.contentType = contentType;
+    }
+
+    public String extension()   { return extension; }
+    public String contentType() { return contentType; }
+
+    public static Optional<ImageFormat> sniff(byte[] header) {
+        if (startsWith(header, new byte[] {(byte) 0xFF, (byte) 0xD8, (byte) 0xFF})) return Optional.of(JPEG);
+        if (startsWith(header, PNG_SIGNATURE)) return Optional.of(PNG);
+        if (startsWith(header, "GIF87a".getBytes()) || startsWith(header, "GIF89a".getBytes())) return Optional.of(GIF);
+        if (header.length >= SNIFF_LENGTH && startsWith(header, "RIFF".getBytes())
+                && Arrays.equals(header, 8, 12, "WEBP".getBytes(), 0, 4)) {
+            return Optional.of(WEBP);
+        }
+        return Optional.empty();
+    }
+
+    public static Optional<ImageFormat> fromExtension(String extension) {
+        for (ImageFormat format : values()) {
+            if (format.extension.equals(extension)) return Optional.of(format);
+        }
+        return "jpeg".equals(extension) ? Optional.of(JPEG) : Optional.empty();
+    }
+
+    private static boolean startsWith(byte[] header, byte[] prefix) {
+        return header.length >= prefix.length && Arrays.equals(header, 0, prefix.length, prefix, 0, prefix.length);
+    }
+}
@@ -0,0 +1,93 @@
+package com.blog.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Migration ponctuelle des couvertures stockées à plat (nom UUID) vers le stockage
+ * adressé par contenu. Idempotente : les URL déjà migrées sont ignorées, on peut la
+ * relancer après une interruption. Les déclinaisons ne sont pas reprises ; elles sont
+ * régénérées au prochain upload de la couverture.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.upload.migrate-legacy", havingValue = "true")
+public class ImageStorageMigration {
+
+    private final ImageStorageService imageStorageService;
+    private final JdbcTemplate jdbcTemplate;
+    private final PlatformTransactionManager transactionManager;
+    private final ArticleCache articleCache;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void migrate() {
+        List<Map<String, Object>> covers = jdbcTemplate.queryForList(
+                "SELECT id, cover_image_url FROM articles WHERE cover_image_url IS NOT NULL");
+
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        int migrated = 0;
+
+        for (Map<String, Object> cover : covers) {
+            Long   articleId = ((Number) cover.get("id")).longValue();
+            String legacyUrl = (String) cover.get("cover_image_url");
+            if (imageStorageService.isContentAddressed(legacyUrl)) continue;
+
+            Path legacy = imageStorageService.resolve(legacyUrl);
+            if (!Files.isRegularFile(legacy)) {
+                log.warn("Fichier introuvable pour l'article id={} : {}", articleId, legacyUrl);
+                continue;
+            }
+
+            Boolean done = transaction.execute(status -> {
+                String url = imageStorageService.adopt(legacy, extensionOf(legacy));
+                int updated = jdbcTemplate.update(
+                        "UPDATE articles SET cover_image_url = ?, version = version + 1 "
+                      + "WHERE id = ? AND cover_image_url = ?",
+                        url, articleId, legacyUrl);
+                if (updated == 0) {
+                    // Couverture modifiée entre-temps : on rend la référence prise
+                    imageStorageService.delete(url);
+                    return false;
+                }
+                return true;
+            });
+
+            if (Boolean.TRUE.equals(done)) {
+                deleteLegacy(legacy);
+                migrated++;
+            }
+        }
+
+        if (migrated > 0) articleCache.invalidateAll();
+        log.info("Migration du stockage d'images terminée : {} couverture(s) migrée(s)", migrated);
+    }
+
+    private static String extensionOf(Path file) {
+        String name = file.getFileName().toString();
+        int dotIndex = name.lastIndexOf('.');
+        String extension = dotIndex >= 0 ? name.substring(dotIndex + 1).toLowerCase() : "jpg";
+        return extension.matches("[a-z0-9]{1,5}") ? extension : "jpg";
+    }
+
+    private static void deleteLegacy(Path legacy) {
+        try {
+            Files.deleteIfExists(legacy);
+        } catch (IOException e) {
+            log.warn("Ancien fichier non supprimé : {}", legacy);
+        }
+    }
+}
@@ -1,24 +1,96 @@
 package com.blog.service;
 
+import com.blog.exception.BadRequestException;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
-import org.springframework.util.StringUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
 
 import jakarta.annotation.PostConstruct;
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.BufferedOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
 import java.util.List;
-import java.util.UUID;
+import java.util.regex.Pattern;
 
+/**
+ * Stockage adressé par contenu : chaque fichier est nommé d'après le SHA-256 calculé pendant
+ * l'écriture et rangé sous {@code ab/cd/<sha256>.<ext>}. Des uploads identiques partagent
+ * le même fichier ; la table stored_images compte les références et le fichier n'est
+ * supprimé qu'à la disparition de la dernière.
+ *
+ * <p>Les uploads sont lus en flux : format vérifié sur les premiers octets, taille contrôlée
+ * au fil de la lecture, écriture par FileChannel dans un fichier temporaire renommé ensuite.
+ *
+ * <p>Les anciens fichiers à plat (nom UUID) restent lisibles et sont supprimés directement.
+ */
 @Slf4j
 @Service
+@RequiredArgsConstructor
 public class ImageStorageService {
 
+    private static final Pattern CONTENT_ADDRESSED =
+            Pattern.compile("[0-9a-f]{2}/[0-9a-f]{2}/[0-9a-f]{64}\\.[a-z0-9]+");
+
+    private static final String CONTENT_ADDRESSED_SQL = "[0-9a-f]{2}/[0-9a-f]{2}/[0-9a-f]{64}\\.[a-z0-9]+$";
+
+    private static final String RETAIN =
+            "INSERT INTO stored_images (path, ref_count, size_bytes, retained_at) VALUES (?, 1, ?, now()) "
+          + "ON CONFLICT (path) DO UPDATE SET ref_count = stored_images.ref_count + 1, retained_at = now()";
+
+    private static final String RELEASE =
+            "UPDATE stored_images SET ref_count = ref_count - 1 WHERE path = ? RETURNING ref_count";
+
+    // Ligne supprimée seulement si personne n'a repris de référence depuis le commit du RELEASE
+    private static final String PURGE =
+            "DELETE FROM stored_images WHERE path = ? AND ref_count <= 0";
+
+    // Références réelles : couvertures et déclinaisons des articles. Les lignes retenues
+    // après le seuil (upload en cours, URL pas encore écrite) sont laissées de côté
+    private static final String RECONCILE =
+            "UPDATE stored_images s SET ref_count = r.actual FROM ("
+          + "  SELECT i.path, COUNT(u.path) AS actual FROM stored_images i"
+          + "  LEFT JOIN ("
+          + "    SELECT substring(a.cover_image_url FROM '" + CONTENT_ADDRESSED_SQL + "') AS path"
+          + "    FROM articles a WHERE a.cover_image_url IS NOT NULL"
+          + "    UNION ALL"
+          + "    SELECT substring(v ->> 'url' FROM '" + CONTENT_ADDRESSED_SQL + "')"
+          + "    FROM articles a, jsonb_array_elements(a.cover_variants) v WHERE a.cover_variants IS NOT NULL"
+          + "  ) u ON u.path = i.path"
+          + "  WHERE i.retained_at < ?"
+          + "  GROUP BY i.path) r "
+          + "WHERE s.path = r.path AND s.retained_at < ? AND s.ref_count <> r.actual";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ImageContentCache imageContentCache;
+    private final PlatformTransactionManager transactionManager;
 
     @Value("${app.upload.dir:uploads/images}")
     private String uploadDir;
@@ -26,17 +98,29 @@ public class ImageStorageService {
     @Value("${app.upload.base-url:http://localhost:8080/images}")
     private String baseUrl;
 
-    private static final List<String> ALLOWED_TYPES = List.of(
-            "image/jpeg", "image/jpg", "image/png", "image/gif", "image/webp"
-    );
+    @Value("${app.images.reconcile-grace:1h}")
+    private Duration reconcileGrace;
 
-    private static final long MAX_SIZE_BYTES = 5 * 1024 * 1024;
+    public static final long MAX_SIZE_BYTES = 5 * 1024 * 1024;
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private Path root;
+    private Path tempDir;
+
+    @FunctionalInterface
+    private interface ContentWriter {
+        void writeTo(OutputStream out) throws IOException;
+    }
 
     @PostConstruct
     public void init() {
         try {
-
-            Files.createDirectories(Paths.get(uploadDir));
+            root = Paths.get(uploadDir).toAbsolutePath().normalize();
+            // Hors du dossier servi, mais sur le même volume pour un déplacement atomique
+            tempDir = root.resolveSibling(root.getFileName() + "-tmp");
+            Files.createDirectories(root);
+            Files.createDirectories(tempDir);
             log.info("Dossier d'upload initialisé : {}", uploadDir);
         } catch (IOException e) {
             throw new RuntimeException("Impossible de créer le dossier d'upload", e);
@@ -48,30 +132,251 @@ public class ImageStorageService {
 
         validateFile(file);
 
+        try (InputStream in = file.getInputStream()) {
+            return store(in, file.getSize());
+        } catch (IOException e) {
+            throw new RuntimeException("Erreur lors de la lecture de l'upload", e);
+        }
+    }
 
-        String originalName = StringUtils.cleanPath(file.getOriginalFilename());
-        String extension    = getExtension(originalName);
-        String uniqueName   = UUID.randomUUID().toString() + "." + extension;
-
+    /**
+     * Upload en flux (corps brut de la requête). Le format est déduit des premiers octets,
+     * la taille est vérifiée pendant la lecture : rien n'est gardé en mémoire au-delà d'un tampon.
+     *
+     * @param declaredLength taille annoncée (Content-Length), -1 si inconnue
+     */
+    public String store(InputStream in, long declaredLength) {
+        if (declaredLength > MAX_SIZE_BYTES) throw tooLarge();
 
+        Path temp = createTemp();
         try {
-            Path targetPath = Paths.get(uploadDir).resolve(uniqueName);
-            Files.copy(file.getInputStream(), targetPath, StandardCopyOption.REPLACE_EXISTING);
-            log.info("Image sauvegardée : {}", uniqueName);
+            MessageDigest sha256 = sha256();
+            ImageFormat format   = copySniffed(in, temp, sha256);
+            // Canal fermé avant le renommage
+            return publish(temp, sha256, format.extension());
         } catch (IOException e) {
             throw new RuntimeException("Erreur lors de la sauvegarde de l'image", e);
+        } finally {
+            deleteQuietly(temp);
         }
+    }
 
+    private static ImageFormat copySniffed(InputStream in, Path temp, MessageDigest sha256) throws IOException {
+        try (ReadableByteChannel source = Channels.newChannel(in);
+             FileChannel target = FileChannel.open(temp, StandardOpenOption.WRITE)) {
 
-        return baseUrl + "/" + uniqueName;
+            ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+            while (buffer.position() < ImageFormat.SNIFF_LENGTH && source.read(buffer) >= 0) {
+                // en-tête incomplet : on continue de lire
+            }
+            if (buffer.position() == 0) throw new BadRequestException("Le fichier est vide");
+
+            byte[] header = new byte[Math.min(buffer.position(), ImageFormat.SNIFF_LENGTH)];
+            buffer.get(0, header);
+            ImageFormat format = ImageFormat.sniff(header).orElseThrow(() -> new BadRequestException(
+                    "Type de fichier non autorisé. Formats acceptés : JPEG, PNG, GIF, WEBP"));
+
+            long total = 0;
+            do {
+                buffer.flip();
+                total += buffer.remaining();
+                if (total > MAX_SIZE_BYTES) throw tooLarge();
+
+                sha256.update(buffer.duplicate());
+                while (buffer.hasRemaining()) target.write(buffer);
+                buffer.clear();
+            } while (source.read(buffer) >= 0);
+
+            return format;
+        }
     }
 
+    /** Enregistre une image générée (déclinaison redimensionnée) et renvoie son URL. */
+    public String store(BufferedImage image, String format) {
+        return write(out -> {
+            if (!ImageIO.write(image, format, out)) {
+                throw new IllegalStateException("Aucun encodeur ImageIO pour le format " + format);
+            }
+        }, format);
+    }
+
+    /** Reprend un fichier existant (migration des anciens noms UUID) sans le modifier. */
+    public String adopt(Path existing, String extension) {
+        return write(out -> Files.copy(existing, out), extension);
+    }
+
+    /** Fichier local correspondant à une URL produite par ce service. */
+    public Path resolve(String imageUrl) {
+        return resolveStored(relativePath(imageUrl));
+    }
+
+    /** Fichier local d'un chemin relatif au dossier d'upload (ab/cd/<sha256>.<ext> ou ancien nom). */
+    public Path resolveStored(String relativePath) {
+        Path path = root.resolve(relativePath).normalize();
+        if (!path.startsWith(root) || path.equals(root)) {
+            throw new BadRequestException("Chemin d'image invalide");
+        }
+        return path;
+    }
+
+    public boolean isContentAddressed(String imageUrl) {
+        return CONTENT_ADDRESSED.matcher(relativePath(imageUrl)).matches();
+    }
+
+    /**
+     * Rend une référence. Appelé dans la transaction qui retire l'URL : le compteur suit son
+     * sort, et le fichier n'est supprimé qu'après le commit. Une annulation laisse tout en place.
+     */
     public void delete(String imageUrl) {
         if (imageUrl == null || imageUrl.isBlank()) return;
 
-        String fileName = imageUrl.substring(imageUrl.lastIndexOf("/") + 1);
-        Path filePath   = Paths.get(uploadDir).resolve(fileName);
+        String relative = relativePath(imageUrl);
+        if (CONTENT_ADDRESSED.matcher(relative).matches()) {
+            release(relative);
+        } else {
+            Path legacy = resolve(imageUrl);
+            afterCommit(() -> deleteFile(legacy));
+        }
+    }
+
+    /**
+     * Recale les compteurs sur les URL présentes dans articles et purge les fichiers qui ne
+     * sont plus référencés. Corrige les références perdues : une référence prise hors
+     * transaction (upload, déclinaison) est commitée avant l'écriture de l'URL, un arrêt
+     * entre les deux la laisse orpheline.
+     */
+    @Scheduled(cron = "${app.images.reconcile-cron:0 45 3 * * *}")
+    public int reconcile() {
+        Timestamp cutoff = Timestamp.from(Instant.now().minus(reconcileGrace));
+        int repaired = jdbcTemplate.update(RECONCILE, cutoff, cutoff);
+
+        List<String> unreferenced = jdbcTemplate.queryForList(
+                "SELECT path FROM stored_images WHERE ref_count <= 0 AND retained_at < ?", String.class, cutoff);
+        unreferenced.forEach(this::purge);
 
+        if (repaired > 0 || !unreferenced.isEmpty()) {
+            log.warn("Images : {} compteurs de références corrigés, {} fichiers purgés", repaired, unreferenced.size());
+        } else {
+            log.info("Images : aucun écart de références");
+        }
+        return repaired;
+    }
+
+
+    /** Écrit un contenu produit localement (image générée, fichier repris) en calculant son SHA-256. */
+    private String write(ContentWriter writer, String extension) {
+        Path temp = createTemp();
+        try {
+            MessageDigest sha256 = sha256();
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE);
+                 OutputStream out = new DigestOutputStream(
+                         new BufferedOutputStream(Channels.newOutputStream(channel), BUFFER_SIZE), sha256)) {
+                writer.writeTo(out);
+            }
+            return publish(temp, sha256, extension);
+        } catch (IOException e) {
+            throw new RuntimeException("Erreur lors de la sauvegarde de l'image", e);
+        } finally {
+            deleteQuietly(temp);
+        }
+    }
+
+    /**
+     * Prend une référence sur le contenu puis renomme atomiquement le fichier temporaire
+     * à son adresse, s'il n'y est pas déjà.
+     *
+     * <p>La référence est prise avant le test d'existence. Une purge ({@link #purge}) supprime
+     * la ligne à zéro référence et le fichier sous le même verrou : soit elle est passée et
+     * le test voit le fichier absent, soit elle trouve la référence et renonce. Vrai aussi
+     * hors transaction, où la référence est commitée aussitôt ; si l'URL n'est jamais
+     * écrite ensuite, {@link #reconcile} la rend.
+     */
+    private String publish(Path temp, MessageDigest sha256, String extension) throws IOException {
+        String hash     = HexFormat.of().formatHex(sha256.digest());
+        String relative = hash.substring(0, 2) + "/" + hash.substring(2, 4) + "/" + hash + "." + extension;
+
+        jdbcTemplate.update(RETAIN, relative, Files.size(temp));
+
+        Path target = root.resolve(relative);
+        if (Files.exists(target)) {
+            log.info("Image déjà stockée, réutilisée : {}", relative);
+        } else {
+            Files.createDirectories(target.getParent());
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+            log.info("Image sauvegardée : {}", relative);
+        }
+        return baseUrl + "/" + relative;
+    }
+
+    private Path createTemp() {
+        try {
+            return Files.createTempFile(tempDir, "upload-", ".part");
+        } catch (IOException e) {
+            throw new RuntimeException("Impossible de créer le fichier temporaire d'upload", e);
+        }
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static BadRequestException tooLarge() {
+        return new BadRequestException("Le fichier est trop grand. Taille max : 5 MB");
+    }
+
+    private void release(String relative) {
+        Integer remaining = jdbcTemplate.query(RELEASE,
+                rs -> rs.next() ? rs.getInt(1) : null, relative);
+
+        if (remaining == null) {
+            log.warn("Image {} sans compteur de références, fichier conservé", relative);
+        } else if (remaining <= 0) {
+            afterCommit(() -> purge(relative));
+        } else {
+            log.debug("Image {} encore référencée {} fois", relative, remaining);
+        }
+    }
+
+    /**
+     * Dans sa propre transaction : le fichier est supprimé pendant que la suppression de la
+     * ligne est verrouillée, un upload identique attend donc le commit et réécrit le fichier.
+     */
+    private void purge(String relative) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        transaction.executeWithoutResult(status -> {
+            if (jdbcTemplate.update(PURGE, relative) > 0) deleteFile(root.resolve(relative));
+        });
+    }
+
+    // Hors transaction (génération des déclinaisons), l'action est immédiate
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private String relativePath(String imageUrl) {
+        String prefix = baseUrl + "/";
+        return imageUrl.startsWith(prefix)
+                ? imageUrl.substring(prefix.length())
+                : imageUrl.substring(imageUrl.lastIndexOf("/") + 1);
+    }
+
+    private void deleteFile(Path filePath) {
+        String fileName = filePath.getFileName().toString();
+        imageContentCache.evict(root.relativize(filePath).toString().replace('\\', '/'));
         try {
             Files.deleteIfExists(filePath);
             log.info("Image supprimée : {}", fileName);
@@ -80,25 +385,18 @@ public class ImageStorageService {
         }
     }
 
+    private static void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn("Fichier temporaire non supprimé : {}", path);
+        }
+    }
 
+    // Le type réel est vérifié sur les premiers octets, pas sur le Content-Type déclaré
     private void validateFile(MultipartFile file) {
         if (file == null || file.isEmpty()) {
-            throw new IllegalArgumentException("Le fichier est vide");
-        }
-        if (!ALLOWED_TYPES.contains(file.getContentType())) {
-            throw new IllegalArgumentException(
-                "Type de fichier non autorisé. Formats acceptés : JPEG, PNG, GIF, WEBP"
-            );
-        }
-        if (file.getSize() > MAX_SIZE_BYTES) {
-            throw new IllegalArgumentException(
-                "Le fichier est trop grand. Taille max : 5 MB"
-            );
+            throw new BadRequestException("Le fichier est vide");
         }
     }
-
-    private String getExtension(String filename) {
-        int dotIndex = filename.lastIndexOf('.');
-        return (dotIndex >= 0) ? filename.substring(dotIndex + 1).toLowerCase() : "jpg";
-    }
 }
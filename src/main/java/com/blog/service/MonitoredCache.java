@@ -0,0 +1,13 @@
+package com.blog.service;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+/**
+ * Cache applicatif exposé par l'API d'administration (statistiques, vidage).
+ */
+public interface MonitoredCache {
+    String name();
+    long estimatedSize();
+    CacheStats stats();
+    void invalidateAll();
+}
@@ -0,0 +1,93 @@
+package com.blog.service;
+
+import com.blog.util.Slugs;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Attribution des slugs par compteur de suffixe (table slug_counters), une ligne par base.
+ *
+ * <p>Deux requêtes par appel, quel que soit le nombre de bases. La première crée ou verrouille
+ * la ligne de chaque base et la recale sur le plus grand suffixe présent dans articles
+ * (un seul MAX, les variantes ne remontent pas) ; la seconde réserve les suffixes.
+ * Les écritures concurrentes d'une même base attendent le commit de la précédente et
+ * repartent de son compteur : elles ne choisissent jamais le même slug.
+ *
+ * <p>Reste la collision entre bases voisines (« Java » n°17 contre un titre « Java 17 ») :
+ * la contrainte unique la signale, et la tentative suivante se recale sur l'état commité.
+ * Doit être appelé dans la transaction qui insère les articles.
+ */
+@Component
+@RequiredArgsConstructor
+public class SlugAllocator {
+
+    // Bases triées : les verrous de lignes sont pris dans le même ordre par toutes les transactions.
+    // Graine : -1 (la base elle-même) si aucun article ne porte la base, sinon le plus grand suffixe
+    // présent. GREATEST ne fait jamais reculer un compteur existant : une base libérée n'est
+    // pas réattribuée, la suite continue (base-4 après base-3) et une URL supprimée ne change pas d'article.
+    // Collation d'octets (~>=~, ~<~) : base-N est compris entre 'base-' et 'base.'
+    private static final String LOCK_AND_SYNC =
+            "INSERT INTO slug_counters AS c (base, last_suffix) "
+          + "SELECT b.base, COALESCE(("
+          + "    SELECT MAX(CASE WHEN a.slug = b.base THEN 0"
+          + "                    ELSE CAST(substr(a.slug, char_length(b.base) + 2) AS INT) END)"
+          + "    FROM articles a"
+          + "    WHERE EXISTS (SELECT 1 FROM articles x WHERE x.slug = b.base)"
+          + "      AND (a.slug = b.base"
+          + "       OR (a.slug ~>=~ (b.base || '-') AND a.slug ~<~ (b.base || '.')"
+          + "           AND substr(a.slug, char_length(b.base) + 2) ~ '^[0-9]{1,9}$'))), -1) "
+          + "FROM unnest(?::varchar[]) AS b(base) ORDER BY b.base "
+          + "ON CONFLICT (base) DO UPDATE SET last_suffix = GREATEST(c.last_suffix, EXCLUDED.last_suffix)";
+
+    private static final String RESERVE =
+            "UPDATE slug_counters c SET last_suffix = c.last_suffix + r.n "
+          + "FROM unnest(?::varchar[], ?::int[]) AS r(base, n) WHERE c.base = r.base "
+          + "RETURNING c.base, c.last_suffix";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public String allocate(String base) {
+        return allocate(List.of(base)).get(0);
+    }
+
+    /** Un slug libre par base demandée, dans l'ordre ; une base répétée reçoit des suffixes successifs. */
+    public List<String> allocate(List<String> bases) {
+        if (bases.isEmpty()) return List.of();
+
+        Map<String, Integer> counts = new TreeMap<>();
+        bases.forEach(base -> counts.merge(base, 1, Integer::sum));
+        Object[] distinct = counts.keySet().toArray();
+
+        jdbcTemplate.update(connection -> {
+            PreparedStatement statement = connection.prepareStatement(LOCK_AND_SYNC);
+            statement.setArray(1, connection.createArrayOf("varchar", distinct));
+            return statement;
+        });
+
+        // Premier suffixe réservé par base : last_suffix - n + 1
+        Map<String, Integer> next = new HashMap<>();
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(RESERVE);
+            statement.setArray(1, connection.createArrayOf("varchar", distinct));
+            statement.setArray(2, connection.createArrayOf("integer", counts.values().toArray()));
+            return statement;
+        }, rs -> {
+            String base = rs.getString(1);
+            next.put(base, rs.getInt(2) - counts.get(base) + 1);
+        });
+
+        List<String> slugs = new ArrayList<>(bases.size());
+        for (String base : bases) {
+            slugs.add(Slugs.withSuffix(base, next.merge(base, 1, Integer::sum) - 1));
+        }
+        return slugs;
+    }
+}
@@ -0,0 +1,131 @@
+package com.blog.service;
+
+import com.blog.entity.Tag;
+import com.blog.repository.TagRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Résolution des tags par nom : dictionnaire nom → id en mémoire, puis une seule requête IN
+ * pour les absents, puis une seule insertion ON CONFLICT DO NOTHING pour les nouveaux.
+ *
+ * <p>Les tags ne sont jamais supprimés, un id connu reste donc valide. Les ids ne sont
+ * ajoutés au dictionnaire qu'après commit, pour ne pas retenir ceux d'une insertion annulée.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TagDictionary {
+
+    private static final String INSERT_TAGS =
+            "INSERT INTO tags (name) SELECT unnest(?::varchar[]) ON CONFLICT (name) DO NOTHING RETURNING id, name";
+
+    private final TagRepository tagRepository;
+    private final JdbcTemplate jdbcTemplate;
+
+    private final Map<String, Long> ids = new ConcurrentHashMap<>();
+
+    @Value("${app.tags.dictionary.max-size:50000}")
+    private int maxSize;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        jdbcTemplate.query("SELECT id, name FROM tags ORDER BY id LIMIT ?",
+                rs -> { ids.put(rs.getString("name"), rs.getLong("id")); },
+                maxSize);
+        log.info("Dictionnaire de tags chargé : {} entrées", ids.size());
+    }
+
+    /**
+     * Tags correspondant aux noms donnés (sans doublons, dans l'ordre de la requête),
+     * créés si besoin. Doit être appelé dans une transaction en écriture.
+     */
+    public List<Tag> resolve(List<String> tagNames) {
+        if (tagNames == null || tagNames.isEmpty()) return new ArrayList<>();
+
+        Set<String> names = new LinkedHashSet<>();
+        for (String name : tagNames) {
+            if (name != null && !name.isBlank()) names.add(name.trim());
+        }
+
+        Map<String, Long> resolved = new HashMap<>();
+        List<String> missing = new ArrayList<>();
+        for (String name : names) {
+            Long id = ids.get(name);
+            if (id != null) resolved.put(name, id);
+            else missing.add(name);
+        }
+
+        if (!missing.isEmpty()) {
+            Map<String, Long> found = new HashMap<>();
+            tagRepository.findByNameIn(missing).forEach(tag -> found.put(tag.getName(), tag.getId()));
+
+            List<String> toCreate = missing.stream().filter(name -> !found.containsKey(name)).sorted().toList();
+            if (!toCreate.isEmpty()) {
+                found.putAll(insertMissing(toCreate));
+                log.debug("{} tag(s) créé(s)", toCreate.size());
+            }
+            resolved.putAll(found);
+            remember(found);
+        }
+
+        return names.stream()
+                .map(name -> Tag.builder().id(resolved.get(name)).name(name).build())
+                .collect(ArrayList::new, ArrayList::add, ArrayList::addAll);
+    }
+
+    /**
+     * Insère les noms triés en une requête. Ceux qui existent déjà (course avec une autre
+     * transaction) ne sont pas renvoyés par RETURNING : ils sont relus ensuite.
+     */
+    private Map<String, Long> insertMissing(List<String> toCreate) {
+        Map<String, Long> created = new HashMap<>();
+        jdbcTemplate.query(connection -> {
+                    PreparedStatement statement = connection.prepareStatement(INSERT_TAGS);
+                    statement.setArray(1, connection.createArrayOf("varchar", toCreate.toArray()));
+                    return statement;
+                },
+                rs -> { created.put(rs.getString("name"), rs.getLong("id")); });
+
+        if (created.size() < toCreate.size()) {
+            List<String> concurrent = toCreate.stream().filter(name -> !created.containsKey(name)).toList();
+            tagRepository.findByNameIn(concurrent).forEach(tag -> created.put(tag.getName(), tag.getId()));
+        }
+        return created;
+    }
+
+    private void remember(Map<String, Long> entries) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            putAll(entries);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                putAll(entries);
+            }
+        });
+    }
+
+    private void putAll(Map<String, Long> entries) {
+        entries.forEach((name, id) -> {
+            if (ids.size() < maxSize) ids.put(name, id);
+        });
+    }
+}
@@ -0,0 +1,130 @@
+package com.blog.service;
+
+import com.blog.dto.response.TagResponse;
+import com.blog.entity.Article;
+import com.blog.entity.Tag;
+import com.blog.repository.TagRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.PreparedStatement;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+/**
+ * Nuage de tags précalculé : nombre d'articles publiés et date de dernière utilisation
+ * par tag, mis à jour par delta dans la transaction de chaque écriture d'article.
+ * Une réconciliation périodique recalcule les compteurs et corrige les écarts.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TagStatistics {
+
+    private static final int MAX_LIMIT = 1000;
+
+    // Ids triés : les verrous de lignes sont pris dans le même ordre par toutes les transactions
+    private static final String APPLY_DELTAS =
+            "UPDATE tags t SET published_article_count = t.published_article_count + d.delta, "
+          + "last_used_at = CASE WHEN d.used THEN now() ELSE t.last_used_at END "
+          + "FROM unnest(?::bigint[], ?::int[], ?::boolean[]) AS d(id, delta, used) WHERE t.id = d.id";
+
+    // Écart mesuré dans un seul instantané (compteur et article_tags y sont cohérents), appliqué
+    // en delta : un delta commité par une écriture concurrente après l'instantané est conservé
+    private static final String RECONCILE =
+            "UPDATE tags t SET published_article_count = t.published_article_count + c.drift FROM ("
+          + "  SELECT tg.id, COUNT(a.id) - tg.published_article_count AS drift FROM tags tg"
+          + "  LEFT JOIN article_tags at ON at.tag_id = tg.id"
+          + "  LEFT JOIN articles a ON a.id = at.article_id AND a.published"
+          + "  GROUP BY tg.id, tg.published_article_count) c "
+          + "WHERE t.id = c.id AND c.drift <> 0";
+
+    private final TagRepository tagRepository;
+    private final JdbcTemplate jdbcTemplate;
+
+    private record Change(int delta, boolean used) {}
+
+    @Transactional(readOnly = true)
+    public List<TagResponse> getTagCloud(int limit, int minCount) {
+        return tagRepository.findMostUsed(Math.max(0, minCount), PageRequest.of(0, Math.max(1, Math.min(limit, MAX_LIMIT))))
+                .stream()
+                .map(tag -> TagResponse.builder()
+                        .id(tag.getId())
+                        .name(tag.getName())
+                        .publishedArticleCount(tag.getPublishedArticleCount())
+                        .lastUsedAt(tag.getLastUsedAt())
+                        .build())
+                .toList();
+    }
+
+    /**
+     * Reporte le passage d'un article de l'état « avant » à l'état « après »
+     * (création : avant vide ; suppression : après vide). Doit être appelé dans
+     * la transaction qui écrit l'article. last_used_at n'avance que pour un tag
+     * nouvellement porté par un article publié, ou quand l'article devient publié.
+     */
+    public void articleChanged(boolean wasPublished, Collection<Tag> before,
+                               boolean isPublished, Collection<Tag> after) {
+        Set<Long> beforeIds = before.stream().map(Tag::getId).collect(Collectors.toSet());
+        Map<Long, Change> changes = new TreeMap<>();
+        if (wasPublished) {
+            before.forEach(tag -> changes.merge(tag.getId(), new Change(-1, false), TagStatistics::combine));
+        }
+        after.forEach(tag -> changes.merge(tag.getId(),
+                new Change(isPublished ? 1 : 0, isPublished && (!wasPublished || !beforeIds.contains(tag.getId()))),
+                TagStatistics::combine));
+        apply(changes);
+    }
+
+    /** Variante groupée pour l'import : plusieurs articles créés dans la même transaction. */
+    public void articlesCreated(Collection<Article> articles) {
+        Map<Long, Change> changes = new TreeMap<>();
+        for (Article article : articles) {
+            Change change = new Change(article.isPublished() ? 1 : 0, article.isPublished());
+            article.getTags().forEach(tag -> changes.merge(tag.getId(), change, TagStatistics::combine));
+        }
+        apply(changes);
+    }
+
+    /**
+     * Recalcule les compteurs depuis article_tags et corrige ceux qui ont dérivé, sans
+     * écraser les deltas des écritures concurrentes. Parcourt toute la table : à planifier
+     * en heure creuse.
+     */
+    @Scheduled(cron = "${app.tags.stats.reconcile-cron:0 30 3 * * *}")
+    public int reconcile() {
+        int repaired = jdbcTemplate.update(RECONCILE);
+        if (repaired > 0) log.warn("Statistiques de tags : {} compteurs corrigés", repaired);
+        else log.info("Statistiques de tags : aucun écart");
+        return repaired;
+    }
+
+    private static Change combine(Change a, Change b) {
+        return new Change(a.delta() + b.delta(), a.used() || b.used());
+    }
+
+    private void apply(Map<Long, Change> changes) {
+        changes.values().removeIf(change -> change.delta() == 0 && !change.used());
+        if (changes.isEmpty()) return;
+
+        Set<Long> ids = changes.keySet();
+        jdbcTemplate.update(connection -> {
+            PreparedStatement statement = connection.prepareStatement(APPLY_DELTAS);
+            statement.setArray(1, connection.createArrayOf("bigint", ids.toArray()));
+            statement.setArray(2, connection.createArrayOf("integer",
+                    changes.values().stream().map(Change::delta).toArray()));
+            statement.setArray(3, connection.createArrayOf("boolean",
+                    changes.values().stream().map(Change::used).toArray()));
+            return statement;
+        });
+    }
+}
@@ -0,0 +1,237 @@
+package com.blog.service;
+
+import com.blog.event.ArticleChangedEvent;
+import com.blog.event.CommentChangedEvent;
+import com.blog.repository.ArticleRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Scores de tendance à décroissance exponentielle (demi-vie configurable), tenus en mémoire.
+ *
+ * <p>Décroissance « vers l'avant » : un événement au temps t ajoute poids × e^(λ(t − t0))
+ * par rapport à un repère t0. Les scores restent comparables sans jamais être recalculés ;
+ * seul le repère est avancé de temps en temps, en divisant tous les scores du même facteur.
+ *
+ * <p>Le classement (top k, articles publiés) est recalculé périodiquement dans une liste
+ * immuable : l'endpoint ne fait que la découper. Les scores sont sauvegardés en base
+ * à intervalle régulier et à l'arrêt, puis relus au démarrage.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TrendingArticles {
+
+    // Au-delà, le repère est avancé : e^40 laisse une marge confortable avant l'infini
+    private static final double MAX_EXPONENT = 40;
+
+    private static final String INSERT_SCORE =
+            "INSERT INTO trending_scores (article_id, score, computed_at) "
+          + "SELECT ?, ?, ? WHERE EXISTS (SELECT 1 FROM articles WHERE id = ?)";
+
+    private final ArticleRepository articleRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${app.trending.half-life:6h}")
+    private Duration halfLife;
+
+    @Value("${app.trending.size:100}")
+    private int size;
+
+    @Value("${app.trending.max-tracked:100000}")
+    private int maxTracked;
+
+    @Value("${app.trending.view-weight:1}")
+    private double viewWeight;
+
+    @Value("${app.trending.comment-weight:5}")
+    private double commentWeight;
+
+    private final ConcurrentHashMap<Long, Double> scores = new ConcurrentHashMap<>();
+
+    // Lecture : incréments concurrents ; écriture : changement de repère
+    private final ReadWriteLock landmarkLock = new ReentrantReadWriteLock();
+    private volatile long landmarkMillis = System.currentTimeMillis();
+
+    private volatile List<Long> ranking = List.of();
+
+    public void recordView(Long articleId) {
+        record(articleId, viewWeight);
+    }
+
+    public void recordComment(Long articleId) {
+        record(articleId, commentWeight);
+    }
+
+    /** Classement courant des articles publiés, du plus au moins tendance. */
+    public List<Long> ranking() {
+        return ranking;
+    }
+
+    private void record(Long articleId, double weight) {
+        landmarkLock.readLock().lock();
+        try {
+            scores.merge(articleId, weight * Math.exp(lambda() * elapsedSeconds(landmarkMillis, System.currentTimeMillis())),
+                    Double::sum);
+        } finally {
+            landmarkLock.readLock().unlock();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.trending.refresh-interval:PT30S}",
+               initialDelayString = "${app.trending.refresh-interval:PT30S}")
+    public void refresh() {
+        rescaleIfNeeded();
+        prune();
+
+        PriorityQueue<Map.Entry<Long, Double>> top = new PriorityQueue<>(Map.Entry.comparingByValue());
+        // Marge pour les brouillons écartés ensuite
+        int candidates = size * 2;
+        for (Map.Entry<Long, Double> entry : scores.entrySet()) {
+            if (top.size() < candidates) {
+                top.add(Map.entry(entry.getKey(), entry.getValue()));
+            } else if (entry.getValue() > top.peek().getValue()) {
+                top.poll();
+                top.add(Map.entry(entry.getKey(), entry.getValue()));
+            }
+        }
+
+        List<Map.Entry<Long, Double>> ordered = new ArrayList<>(top);
+        ordered.sort(Map.Entry.<Long, Double>comparingByValue().reversed());
+        List<Long> ids = ordered.stream().map(Map.Entry::getKey).toList();
+
+        Set<Long> published = ids.isEmpty() ? Set.of() : new HashSet<>(articleRepository.findPublishedIdsIn(ids));
+        ranking = ids.stream().filter(published::contains).limit(size).toList();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onArticleChanged(ArticleChangedEvent event) {
+        boolean gone = event.type() == ArticleChangedEvent.Type.DELETED
+                || (event.type() == ArticleChangedEvent.Type.UPDATED && !event.published());
+        if (gone && ranking.contains(event.articleId())) {
+            ranking = ranking.stream().filter(id -> !id.equals(event.articleId())).toList();
+        }
+        if (event.type() == ArticleChangedEvent.Type.DELETED) scores.remove(event.articleId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCommentChanged(CommentChangedEvent event) {
+        if (event.type() == CommentChangedEvent.Type.ADDED) recordComment(event.articleId());
+    }
+
+    // --- Sauvegarde ---
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void restore() {
+        long now = System.currentTimeMillis();
+        try {
+            jdbcTemplate.query("SELECT article_id, score, computed_at FROM trending_scores", rs -> {
+                long computedAt = rs.getTimestamp("computed_at").getTime();
+                // Score à computed_at, ramené au repère courant
+                double value = rs.getDouble("score") * Math.exp(lambda() * elapsedSeconds(landmarkMillis, computedAt));
+                scores.merge(rs.getLong("article_id"), value, Double::sum);
+            });
+        } catch (DataAccessException e) {
+            log.warn("Scores de tendance non relus : {}", e.getMessage());
+        }
+        refresh();
+        log.info("Tendances : {} scores relus en {} ms", scores.size(), System.currentTimeMillis() - now);
+    }
+
+    /**
+     * Remplace l'instantané en base. Avec plusieurs instances, la dernière sauvegarde l'emporte :
+     * c'est une reprise après redémarrage, pas une agrégation.
+     */
+    @Scheduled(fixedDelayString = "${app.trending.snapshot-interval:PT5M}",
+               initialDelayString = "${app.trending.snapshot-interval:PT5M}")
+    public void snapshot() {
+        long now        = System.currentTimeMillis();
+        double toNow    = Math.exp(-lambda() * elapsedSeconds(landmarkMillis, now));
+        Timestamp stamp = new Timestamp(now);
+
+        List<Object[]> rows = new ArrayList<>(scores.size());
+        scores.forEach((id, score) -> rows.add(new Object[]{id, score * toNow, stamp, id}));
+
+        try {
+            new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                jdbcTemplate.execute("DELETE FROM trending_scores");
+                jdbcTemplate.batchUpdate(INSERT_SCORE, rows);
+            });
+            log.debug("Instantané des tendances sauvegardé : {} articles", rows.size());
+        } catch (DataAccessException e) {
+            log.warn("Instantané des tendances non sauvegardé : {}", e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void snapshotOnShutdown() {
+        snapshot();
+    }
+
+    // --- Interne ---
+
+    private double lambda() {
+        return Math.log(2) / Math.max(1, halfLife.toSeconds());
+    }
+
+    private static double elapsedSeconds(long fromMillis, long toMillis) {
+        return (toMillis - fromMillis) / 1000.0;
+    }
+
+    private void rescaleIfNeeded() {
+        long now = System.currentTimeMillis();
+        if (lambda() * elapsedSeconds(landmarkMillis, now) < MAX_EXPONENT) return;
+
+        landmarkLock.writeLock().lock();
+        try {
+            double factor = Math.exp(-lambda() * elapsedSeconds(landmarkMillis, now));
+            scores.replaceAll((id, score) -> score * factor);
+            landmarkMillis = now;
+        } finally {
+            landmarkLock.writeLock().unlock();
+        }
+        log.debug("Repère des scores de tendance avancé");
+    }
+
+    /**
+     * Retire les scores devenus négligeables (moins d'un dixième de vue aujourd'hui),
+     * puis les plus faibles si le nombre d'articles suivis dépasse la limite.
+     */
+    private void prune() {
+        double threshold = 0.1 * Math.exp(lambda() * elapsedSeconds(landmarkMillis, System.currentTimeMillis()));
+        scores.values().removeIf(score -> score < threshold);
+
+        int excess = scores.size() - maxTracked;
+        if (excess <= 0) return;
+        scores.entrySet().stream()
+                .sorted(Map.Entry.comparingByValue())
+                .limit(excess)
+                .map(Map.Entry::getKey)
+                .toList()
+                .forEach(scores::remove);
+    }
+}
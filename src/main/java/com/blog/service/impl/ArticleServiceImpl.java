@@ -5,55 +5,105 @@ import com.blog.dto.request.ArticleSearchFilter;
 import com.blog.dto.request.PageParametres;
 import com.blog.dto.response.ArticleResponse;
 import com.blog.dto.response.PageResponse;
+import com.blog.dto.response.SliceResponse;
 import com.blog.entity.Article;
 import com.blog.entity.Role;
 import com.blog.entity.Tag;
 import com.blog.entity.User;
+import com.blog.event.ArticleChangedEvent;
+import com.blog.exception.PreconditionFailedException;
 import com.blog.exception.ResourceNotFoundException;
 import com.blog.exception.UnauthorizedException;
 import com.blog.mapper.ArticleMapper;
 import com.blog.repository.ArticlePredicate;
 import com.blog.repository.ArticleRepository;
-import com.blog.repository.TagRepository;
+import com.blog.repository.ArticleVersion;
+import com.blog.repository.CommentRepository;
+import com.blog.repository.KeysetCursor;
 import com.blog.repository.UserRepository;
+import com.blog.search.ArticleSearchIndex;
+import com.blog.search.ArticleSearchIndexer;
+import com.blog.search.RelatedArticlesIndexer;
+import com.blog.service.ArticleCache;
+import com.blog.service.ArticleETags;
 import com.blog.service.ArticleService;
+import com.blog.service.ArticleViewCounter;
+import com.blog.service.CoverImageVariantService;
 import com.blog.service.ImageStorageService;
+import com.blog.service.SlugAllocator;
+import com.blog.service.TagDictionary;
+import com.blog.service.TagStatistics;
+import com.blog.service.TrendingArticles;
+import com.blog.util.Slugs;
+import com.querydsl.core.BooleanBuilder;
 import com.querydsl.core.types.Predicate;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
 
-import java.text.Normalizer;
+import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.regex.Pattern;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class ArticleServiceImpl implements ArticleService {
 
+    private static final int MAX_SLUG_ATTEMPTS = 3;
+
     private final ArticleRepository   articleRepository;
     private final UserRepository      userRepository;
-    private final TagRepository       tagRepository;
+    private final CommentRepository   commentRepository;
+    private final TagDictionary       tagDictionary;
+    private final TagStatistics       tagStatistics;
     private final ArticleMapper       articleMapper;
     private final ImageStorageService imageStorageService;
+    private final ArticleCache        articleCache;
+    private final ArticleViewCounter  viewCounter;
+    private final SlugAllocator       slugAllocator;
+    private final TrendingArticles    trendingArticles;
+    private final RelatedArticlesIndexer relatedArticles;
+    private final CoverImageVariantService coverImageVariants;
+    private final ApplicationEventPublisher eventPublisher;
+    private final PlatformTransactionManager transactionManager;
+    private final Optional<ArticleSearchIndexer> searchIndexer;
+
+    // false sur H2 : le filtre keyword retombe sur LIKE
+    @Value("${app.search.full-text:true}")
+    private boolean fullTextSearch;
 
     @Override
-    @Transactional
     public ArticleResponse createArticle(ArticleRequest request, String username) {
+        return withSlugRetry(() -> doCreateArticle(request, username));
+    }
+
+    private ArticleResponse doCreateArticle(ArticleRequest request, String username) {
         User author    = getUserByUsername(username);
         List<Tag> tags = resolveTags(request.getTags());
 
         Article article = Article.builder()
                 .title(request.getTitle())
-                .slug(generateUniqueSlug(request.getTitle()))
+                .slug(generateUniqueSlug(request.getTitle(), null))
                 .content(request.getContent())
                 .summary(request.getSummary())
                 .published(request.isPublished())
@@ -61,18 +111,33 @@ public class ArticleServiceImpl implements ArticleService {
                 .tags(tags)
                 .build();
 
+        // Flush immédiat : un conflit de slug doit lever l'exception ici, pas au commit
+        Article saved = articleRepository.saveAndFlush(article);
+        tagStatistics.articleChanged(false, List.of(), saved.isPublished(), saved.getTags());
+        eventPublisher.publishEvent(ArticleChangedEvent.of(ArticleChangedEvent.Type.CREATED, saved));
         log.info("Article créé : '{}' par {}", article.getTitle(), username);
-        return articleMapper.toResponse(articleRepository.save(article));
+        return articleMapper.toResponse(saved);
     }
 
     @Override
-    @Transactional
-    public ArticleResponse updateArticle(Long id, ArticleRequest request, String username) {
+    public ArticleResponse updateArticle(Long id, ArticleRequest request, String username, String ifMatch) {
+        return withSlugRetry(() -> doUpdateArticle(id, request, username, ifMatch));
+    }
+
+    private ArticleResponse doUpdateArticle(Long id, ArticleRequest request, String username, String ifMatch) {
         Article article = getArticleOrThrow(id);
         checkOwnership(article, getUserByUsername(username));
 
+        // Comparé à l'entité déjà chargée ; entre ce point et le flush, @Version prend le relais
+        if (!ArticleETags.satisfiesIfMatch(ArticleVersion.of(article), ifMatch)) {
+            throw new PreconditionFailedException("L'article a été modifié depuis votre dernière lecture");
+        }
+
+        boolean wasPublished   = article.isPublished();
+        List<Tag> previousTags = List.copyOf(article.getTags());
+
         if (!article.getTitle().equals(request.getTitle())) {
-            article.setSlug(generateUniqueSlug(request.getTitle()));
+            article.setSlug(generateUniqueSlug(request.getTitle(), article.getSlug()));
         }
         article.setTitle(request.getTitle());
         article.setContent(request.getContent());
@@ -80,51 +145,157 @@ public class ArticleServiceImpl implements ArticleService {
         article.setPublished(request.isPublished());
         article.setTags(resolveTags(request.getTags()));
 
-        return articleMapper.toResponse(articleRepository.save(article));
+        Article saved = articleRepository.saveAndFlush(article);
+        tagStatistics.articleChanged(wasPublished, previousTags, saved.isPublished(), saved.getTags());
+        eventPublisher.publishEvent(ArticleChangedEvent.of(ArticleChangedEvent.Type.UPDATED, saved));
+        return articleMapper.toResponse(saved);
     }
 
     @Override
     @Transactional
     public void deleteArticle(Long id, String username) {
-        Article article = getArticleOrThrow(id);
+        Article article = getArticleForUpdate(id);
         checkOwnership(article, getUserByUsername(username));
 
         if (article.getCoverImageUrl() != null) {
             imageStorageService.delete(article.getCoverImageUrl());
+            coverImageVariants.deleteVariants(article.getCoverVariants());
         }
+        tagStatistics.articleChanged(article.isPublished(), article.getTags(), false, List.of());
+        eventPublisher.publishEvent(ArticleChangedEvent.of(ArticleChangedEvent.Type.DELETED, article));
+        // En une instruction : supprimés un par un, un parent pourrait partir avant ses réponses
+        commentRepository.deleteAllByArticleId(id);
         articleRepository.delete(article);
         log.info("Article supprimé : id={} par {}", id, username);
     }
 
+    // Pas de transaction ici : un hit ne doit pas emprunter de connexion
     @Override
-    @Transactional(readOnly = true)
     public ArticleResponse getArticleById(Long id) {
-        return articleMapper.toResponse(getArticleOrThrow(id));
+        return withPendingViews(articleCache.getById(id, this::loadArticle));
     }
 
     @Override
-    @Transactional(readOnly = true)
     public ArticleResponse getArticleBySlug(String slug) {
-        return articleMapper.toResponse(
-            articleRepository.findBySlug(slug)
-                .orElseThrow(() -> new ResourceNotFoundException("Article", "slug", slug))
-        );
+        return withPendingViews(articleCache.getBySlug(slug,
+                key -> articleRepository.findIdBySlug(key)
+                        .orElseThrow(() -> new ResourceNotFoundException("Article", "slug", key)),
+                this::loadArticle));
+    }
+
+    @Override
+    public void recordView(Long articleId) {
+        viewCounter.record(articleId);
+        trendingArticles.recordView(articleId);
+    }
+
+    /**
+     * Découpe le classement précalculé ; les articles viennent du cache, les absents en une
+     * requête. Un article supprimé ou dépublié depuis le dernier recalcul est omis sans être
+     * remplacé : la page peut alors être plus courte que size, et totalElements (taille du
+     * classement) le compte encore jusqu'au recalcul suivant.
+     */
+    @Override
+    public PageResponse<ArticleResponse> getTrendingArticles(int page, int size) {
+        List<Long> ranking = trendingArticles.ranking();
+        Pageable pageable  = PageRequest.of(Math.max(0, page), Math.max(1, Math.min(size, 100)));
+
+        int from = (int) Math.min(pageable.getOffset(), ranking.size());
+        int to   = Math.min(from + pageable.getPageSize(), ranking.size());
+        Page<ArticleResponse> trending = new PageImpl<>(
+                getArticlesByIds(ranking.subList(from, to)), pageable, ranking.size());
+
+        return PageResponse.<ArticleResponse>builder()
+                .content(trending.getContent())
+                .page(trending.getNumber()).size(trending.getSize())
+                .totalElements(trending.getTotalElements()).totalPages(trending.getTotalPages())
+                .first(trending.isFirst()).last(trending.isLast())
+                .build();
     }
 
+    /**
+     * Similarité de Jaccard sur les tags, calculée par l'index en mémoire ; les articles viennent
+     * du cache, les absents en une requête, et un voisin supprimé depuis l'indexation est omis.
+     */
     @Override
+    public List<ArticleResponse> getRelatedArticles(Long id, int size) {
+        getArticleById(id);   // 404 si l'article n'existe pas
+        return getArticlesByIds(relatedArticles.related(id, Math.max(1, Math.min(size, 50))));
+    }
+
+    private List<ArticleResponse> getArticlesByIds(List<Long> ids) {
+        return articleCache.getAll(ids, this::loadArticles).stream().map(this::withPendingViews).toList();
+    }
+
+    // Copie : l'instance en cache est partagée et reste égale à la colonne view_count
+    private ArticleResponse withPendingViews(ArticleResponse article) {
+        long pending = viewCounter.pending(article.getId());
+        return pending == 0 ? article : article.toBuilder().viewCount(article.getViewCount() + pending).build();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     public PageResponse<ArticleResponse> searchArticles(
             ArticleSearchFilter filter, PageParametres pageParam) {
 
-        Pageable pageable = PageRequest.of(
-                pageParam.page(),
-                pageParam.taille(),
-                Sort.by(Sort.Direction.DESC, pageParam.trierPar())
-        );
+        Predicate predicate = ArticlePredicate.build(filter, fullTextSearch);
+        boolean parPertinence = ArticlePredicate.TRI_PERTINENCE.equals(pageParam.trierPar());
 
-        Predicate predicate = ArticlePredicate.build(filter);
-        Page<Article> result = articleRepository.findAll(predicate, pageable);
+        // Index en mémoire : correspondance et classement BM25 sans requête, seul le chargement touche la base
+        if (parPertinence && searchIndexer.isPresent() && searchIndexer.get().canAnswer(filter)) {
+            Pageable pageable = PageRequest.of(pageParam.page(), pageParam.taille());
+            ArticleSearchIndex.SearchResult result = searchIndexer.get()
+                    .search(filter, (int) pageable.getOffset(), pageable.getPageSize());
+            return toPageResponse(new PageImpl<>(loadInOrder(result.articleIds()), pageable, result.total()));
+        }
+
+        Page<Long> ids;
+        Pageable pageable;
+        if (parPertinence && fullTextSearch && filter.keyword() != null && !filter.keyword().isBlank()) {
+            pageable = PageRequest.of(pageParam.page(), pageParam.taille());
+            ids = articleRepository.findIdPage(
+                    predicate, pageable, ArticlePredicate.relevanceOrder(filter.keyword()));
+        } else {
+            String sortField = parPertinence ? "createdAt" : pageParam.trierPar();
+            pageable = PageRequest.of(
+                    pageParam.page(),
+                    pageParam.taille(),
+                    Sort.by(Sort.Direction.DESC, sortField, "id")
+            );
+            ids = articleRepository.findIdPage(predicate, pageable);
+        }
+
+        return toPageResponse(new PageImpl<>(loadInOrder(ids.getContent()), pageable, ids.getTotalElements()));
+    }
 
-        return toPageResponse(result);
+    @Override
+    @Transactional(readOnly = true)
+    public SliceResponse<ArticleResponse> searchArticlesByCursor(
+            ArticleSearchFilter filter, String cursor, PageParametres pageParam) {
+
+        String sortField   = pageParam.trierPar();
+        int size           = pageParam.taille();
+        KeysetCursor after = KeysetCursor.decode(cursor);
+
+        BooleanBuilder predicate = new BooleanBuilder(ArticlePredicate.build(filter, fullTextSearch));
+        if (after != null) predicate.and(ArticlePredicate.seekAfter(sortField, after));
+
+        // Une ligne de plus que demandé suffit à savoir s'il existe une suite
+        List<Long> ids = articleRepository.findIdSlice(
+                predicate, size + 1, ArticlePredicate.keysetOrder(sortField));
+        boolean hasNext        = ids.size() > size;
+        List<Article> articles = loadInOrder(hasNext ? ids.subList(0, size) : ids);
+
+        String nextCursor = hasNext && !articles.isEmpty()
+                ? ArticlePredicate.cursorOf(articles.get(articles.size() - 1), sortField).encode()
+                : null;
+
+        return SliceResponse.<ArticleResponse>builder()
+                .content(articles.stream().map(articleMapper::toResponse).toList())
+                .size(size)
+                .hasNext(hasNext)
+                .nextCursor(nextCursor)
+                .build();
     }
 
     @Override
@@ -137,41 +308,112 @@ public class ArticleServiceImpl implements ArticleService {
     }
 
     @Override
-    @Transactional
     public ArticleResponse uploadCoverImage(Long articleId, MultipartFile image, String username) {
-        Article article = getArticleOrThrow(articleId);
-        checkOwnership(article, getUserByUsername(username));
-
-        if (article.getCoverImageUrl() != null) {
-            imageStorageService.delete(article.getCoverImageUrl());
-        }
+        return replaceCoverImage(articleId, username, () -> imageStorageService.store(image));
+    }
 
-        String imageUrl = imageStorageService.store(image);
-        article.setCoverImageUrl(imageUrl);
+    @Override
+    public ArticleResponse uploadCoverImage(Long articleId, InputStream image, long contentLength, String username) {
+        return replaceCoverImage(articleId, username, () -> imageStorageService.store(image, contentLength));
+    }
 
-        log.info("Image de couverture mise à jour pour l'article id={}", articleId);
-        return articleMapper.toResponse(articleRepository.save(article));
+    /**
+     * Le fichier est écrit hors transaction : un upload lent ne garde ni connexion ni verrou.
+     * Les droits sont vérifiés avant l'écriture, et le fichier est libéré si l'enregistrement échoue.
+     */
+    private ArticleResponse replaceCoverImage(Long articleId, String username, Supplier<String> upload) {
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        readOnly.executeWithoutResult(status ->
+                checkOwnership(getArticleOrThrow(articleId), getUserByUsername(username)));
+
+        String imageUrl = upload.get();
+        try {
+            return new TransactionTemplate(transactionManager).execute(status -> {
+                Article article = getArticleForUpdate(articleId);
+
+                if (article.getCoverImageUrl() != null) {
+                    imageStorageService.delete(article.getCoverImageUrl());
+                    coverImageVariants.deleteVariants(article.getCoverVariants());
+                }
+                article.setCoverImageUrl(imageUrl);
+                Article saved = clearCoverVariants(articleRepository.saveAndFlush(article));
+                eventPublisher.publishEvent(ArticleChangedEvent.of(ArticleChangedEvent.Type.COVER_CHANGED, saved));
+                coverImageVariants.scheduleAfterCommit(articleId, imageUrl);
+                log.info("Image de couverture mise à jour pour l'article id={}", articleId);
+                return articleMapper.toResponse(saved);
+            });
+        } catch (RuntimeException e) {
+            imageStorageService.delete(imageUrl);
+            throw e;
+        }
     }
 
     @Override
     @Transactional
     public ArticleResponse removeCoverImage(Long articleId, String username) {
-        Article article = getArticleOrThrow(articleId);
+        Article article = getArticleForUpdate(articleId);
         checkOwnership(article, getUserByUsername(username));
 
         imageStorageService.delete(article.getCoverImageUrl());
+        coverImageVariants.deleteVariants(article.getCoverVariants());
         article.setCoverImageUrl(null);
+        Article saved = clearCoverVariants(articleRepository.saveAndFlush(article));
+        eventPublisher.publishEvent(ArticleChangedEvent.of(ArticleChangedEvent.Type.COVER_CHANGED, saved));
+        return articleMapper.toResponse(saved);
+    }
+
+
+
+    @Override
+    public ArticleVersion getArticleVersion(Long id) {
+        return articleCache.peek(id)
+                .map(ArticleETags::versionOf)
+                .or(() -> articleRepository.findVersionById(id))
+                .orElseThrow(() -> new ResourceNotFoundException("Article", "id", id));
+    }
 
-        return articleMapper.toResponse(articleRepository.save(article));
+    @Override
+    public ArticleVersion getArticleVersionBySlug(String slug) {
+        return articleCache.peekBySlug(slug)
+                .map(ArticleETags::versionOf)
+                .or(() -> articleRepository.findVersionBySlug(slug))
+                .orElseThrow(() -> new ResourceNotFoundException("Article", "slug", slug));
     }
 
+    private ArticleResponse loadArticle(Long id) {
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        return readOnly.execute(status -> articleMapper.toResponse(getArticleOrThrow(id)));
+    }
 
+    private List<ArticleResponse> loadArticles(List<Long> ids) {
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        return readOnly.execute(status -> loadInOrder(ids).stream().map(articleMapper::toResponse).toList());
+    }
 
     private Article getArticleOrThrow(Long id) {
         return articleRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Article", "id", id));
     }
 
+    /**
+     * Lecture verrouillée pour les écritures qui touchent la couverture : une génération de
+     * déclinaisons en cours attend, ses fichiers ne peuvent pas échapper à la libération.
+     */
+    private Article getArticleForUpdate(Long id) {
+        return articleRepository.findForUpdateById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Article", "id", id));
+    }
+
+    // cover_variants n'est pas écrit par le dirty checking
+    private Article clearCoverVariants(Article article) {
+        articleRepository.clearCoverVariants(article.getId());
+        article.setCoverVariants(null);
+        return article;
+    }
+
     private User getUserByUsername(String username) {
         return userRepository.findByUsername(username)
                 .orElseThrow(() -> new ResourceNotFoundException("Utilisateur", "username", username));
@@ -184,29 +426,48 @@ public class ArticleServiceImpl implements ArticleService {
     }
 
     private List<Tag> resolveTags(List<String> tagNames) {
-        if (tagNames == null || tagNames.isEmpty()) return new ArrayList<>();
-        return tagNames.stream()
-                .map(name -> tagRepository.findByName(name)
-                        .orElseGet(() -> tagRepository.save(Tag.builder().name(name).build())))
-                .toList();
-    }
-
-    private String generateUniqueSlug(String title) {
-        String base = toSlug(title);
-        String slug = base;
-        int count   = 1;
-        while (articleRepository.existsBySlug(slug)) slug = base + "-" + count++;
-        return slug;
-    }
-
-    private String toSlug(String input) {
-        String normalized = Normalizer.normalize(input, Normalizer.Form.NFD);
-        return Pattern.compile("\\p{InCombiningDiacriticalMarks}+")
-                .matcher(normalized).replaceAll("")
-                .toLowerCase()
-                .replaceAll("[^a-z0-9\\s-]", "")
-                .trim()
-                .replaceAll("[\\s-]+", "-");
+        return tagDictionary.resolve(tagNames);
+    }
+
+    /**
+     * Suffixe réservé par {@link SlugAllocator} : les créations simultanées d'un même titre
+     * se suivent sur le compteur de la base. Seule une collision avec une base voisine
+     * atteint la contrainte unique ; {@link #withSlugRetry} rejoue alors la transaction.
+     */
+    private String generateUniqueSlug(String title, String currentSlug) {
+        String base = Slugs.base(title);
+
+        // Un slug déjà dérivé de la même base est conservé
+        if (currentSlug != null && Slugs.derivesFrom(currentSlug, base)) {
+            return currentSlug;
+        }
+        return slugAllocator.allocate(base);
+    }
+
+    private <T> T withSlugRetry(Supplier<T> action) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transaction.execute(status -> action.get());
+            } catch (DataIntegrityViolationException e) {
+                if (!isSlugConflict(e) || attempt >= MAX_SLUG_ATTEMPTS) throw e;
+                log.debug("Slug pris par une écriture concurrente, nouvelle tentative ({}/{})", attempt, MAX_SLUG_ATTEMPTS);
+            }
+        }
+    }
+
+    private static boolean isSlugConflict(DataIntegrityViolationException e) {
+        return e.getCause() instanceof ConstraintViolationException violation
+                && violation.getConstraintName() != null
+                && violation.getConstraintName().contains("slug");
+    }
+
+    // Charge auteur et tags en une requête puis restitue l'ordre de la page d'ids
+    private List<Article> loadInOrder(List<Long> ids) {
+        if (ids.isEmpty()) return List.of();
+        Map<Long, Article> byId = articleRepository.findWithAuthorAndTagsByIdIn(ids).stream()
+                .collect(Collectors.toMap(Article::getId, Function.identity()));
+        return ids.stream().map(byId::get).filter(Objects::nonNull).toList();
     }
 
     private PageResponse<ArticleResponse> toPageResponse(Page<Article> page) {
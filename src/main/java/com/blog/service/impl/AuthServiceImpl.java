@@ -9,11 +9,13 @@ import com.blog.exception.DuplicateResourceException;
 import com.blog.mapper.UserMapper;
 import com.blog.repository.UserRepository;
 import com.blog.security.JwtService;
+import com.blog.security.UserPrincipal;
 import com.blog.service.AuthService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -65,19 +67,18 @@ public class AuthServiceImpl implements AuthService {
 
     @Override
     public AuthResponse login(LoginRequest request) {
-        authenticationManager.authenticate(
+        Authentication authentication = authenticationManager.authenticate(
                 new UsernamePasswordAuthenticationToken(
                         request.getUsernameOrEmail(),
                         request.getPassword()
                 )
         );
 
-        User user = userRepository.findByUsername(request.getUsernameOrEmail())
-                .or(() -> userRepository.findByEmail(request.getUsernameOrEmail()))
-                .orElseThrow();
+        // Le principal authentifié est déjà l'instantané chargé par UserDetailsService
+        UserPrincipal user = (UserPrincipal) authentication.getPrincipal();
 
         String token = jwtService.generateToken(user);
-        log.info("Utilisateur connecté: {}", user.getUsername());
+        log.info("Utilisateur connecté: {}", user.username());
 
         return AuthResponse.builder()
                 .accessToken(token)
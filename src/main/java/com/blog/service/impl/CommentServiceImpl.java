@@ -2,20 +2,26 @@ package com.blog.service.impl;
 
 import com.blog.dto.request.CommentRequest;
 import com.blog.dto.response.CommentResponse;
+import com.blog.dto.response.CommentThreadResponse;
 import com.blog.dto.response.PageResponse;
+import com.blog.dto.response.SliceResponse;
 import com.blog.entity.Article;
 import com.blog.entity.Comment;
 import com.blog.entity.Role;
 import com.blog.entity.User;
+import com.blog.event.CommentChangedEvent;
+import com.blog.exception.BadRequestException;
 import com.blog.exception.ResourceNotFoundException;
 import com.blog.exception.UnauthorizedException;
 import com.blog.mapper.CommentMapper;
 import com.blog.repository.ArticleRepository;
 import com.blog.repository.CommentRepository;
+import com.blog.repository.KeysetCursor;
 import com.blog.repository.UserRepository;
 import com.blog.service.CommentService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -23,15 +29,28 @@ import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class CommentServiceImpl implements CommentService {
 
+    // path : 13 caractères par niveau ("000000000042/"), colonne de 500
+    private static final int MAX_DEPTH       = 30;
+    private static final int MAX_REPLIES     = 20;
+    private static final int PATH_SEGMENT    = 12;
+    private static final String SUBTREE_END  = "~";
+
     private final CommentRepository commentRepository;
     private final ArticleRepository articleRepository;
     private final UserRepository userRepository;
     private final CommentMapper commentMapper;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     @Transactional
@@ -47,7 +66,22 @@ public class CommentServiceImpl implements CommentService {
                 .author(author)
                 .build();
 
+        if (request.getParentId() != null) {
+            Comment parent = getCommentOrThrow(request.getParentId());
+            if (!parent.getArticle().getId().equals(articleId)) {
+                throw new BadRequestException("Le commentaire parent n'appartient pas à cet article");
+            }
+            if (parent.getDepth() >= MAX_DEPTH) {
+                throw new BadRequestException("Profondeur maximale de réponses atteinte");
+            }
+            comment.setParent(parent);
+            comment.setDepth(parent.getDepth() + 1);
+            comment.setParentPath(parent.getPath());
+        }
+
         Comment saved = commentRepository.save(comment);
+        articleRepository.incrementCommentCount(articleId, 1);
+        eventPublisher.publishEvent(new CommentChangedEvent(articleId, CommentChangedEvent.Type.ADDED));
         log.info("Commentaire ajouté sur l'article {} par {}", articleId, username);
         return commentMapper.toResponse(saved);
     }
@@ -71,8 +105,13 @@ public class CommentServiceImpl implements CommentService {
         User currentUser = userRepository.findByUsername(username)
                 .orElseThrow(() -> new ResourceNotFoundException("Utilisateur", "username", username));
         checkOwnership(comment, currentUser);
-        commentRepository.delete(comment);
-        log.info("Commentaire {} supprimé par {}", commentId, username);
+
+        // Le commentaire et toutes ses réponses : un intervalle de path
+        Long articleId = comment.getArticle().getId();
+        int deleted    = commentRepository.deleteSubtree(articleId, comment.getPath(), comment.getPath() + SUBTREE_END);
+        articleRepository.incrementCommentCount(articleId, -deleted);
+        eventPublisher.publishEvent(new CommentChangedEvent(articleId, CommentChangedEvent.Type.DELETED));
+        log.info("Commentaire {} supprimé par {} ({} avec ses réponses)", commentId, username, deleted);
     }
 
     @Override
@@ -91,6 +130,136 @@ public class CommentServiceImpl implements CommentService {
                 .build();
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public SliceResponse<CommentResponse> getCommentsByArticle(Long articleId, String cursor, int size) {
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        size               = Math.max(1, Math.min(size, 100));
+        Pageable limit     = PageRequest.of(0, size + 1);
+
+        List<Comment> comments = after == null
+                ? commentRepository.findSliceByArticleId(articleId, limit)
+                : commentRepository.findSliceByArticleIdAfter(
+                        articleId, after.sortKeyAsDateTime(), after.id(), limit);
+
+        boolean hasNext = comments.size() > size;
+        if (hasNext) comments = comments.subList(0, size);
+
+        String nextCursor = null;
+        if (hasNext) {
+            Comment last = comments.get(comments.size() - 1);
+            nextCursor = new KeysetCursor(last.getCreatedAt().toString(), last.getId()).encode();
+        }
+
+        return SliceResponse.<CommentResponse>builder()
+                .content(comments.stream().map(commentMapper::toResponse).toList())
+                .size(size)
+                .hasNext(hasNext)
+                .nextCursor(nextCursor)
+                .build();
+    }
+
+    /**
+     * Page de commentaires racines avec leurs {@code replies} premières réponses (tous niveaux,
+     * en ordre de parcours). Trois requêtes quelle que soit la taille des fils : racines,
+     * ids des réponses par intervalles d'index, chargement des réponses.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public SliceResponse<CommentThreadResponse> getCommentThreads(Long articleId, String cursor, int size, int replies) {
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        size               = Math.max(1, Math.min(size, 100));
+        replies            = Math.max(0, Math.min(replies, MAX_REPLIES));
+        Pageable limit     = PageRequest.of(0, size + 1);
+
+        List<Comment> roots = after == null
+                ? commentRepository.findRootSliceByArticleId(articleId, limit)
+                : commentRepository.findRootSliceByArticleIdAfter(
+                        articleId, after.sortKeyAsDateTime(), after.id(), limit);
+
+        boolean hasNext = roots.size() > size;
+        if (hasNext) roots = roots.subList(0, size);
+
+        Map<Long, List<Comment>> repliesByRoot = loadFirstReplies(articleId, roots, replies);
+        int shown = replies;
+        List<CommentThreadResponse> threads = roots.stream().map(root -> {
+            List<Comment> thread = repliesByRoot.getOrDefault(root.getId(), List.of());
+            return CommentThreadResponse.builder()
+                    .comment(commentMapper.toResponse(root))
+                    .replies(thread.stream().limit(shown).map(commentMapper::toResponse).toList())
+                    .hasMoreReplies(thread.size() > shown)
+                    .build();
+        }).toList();
+
+        String nextCursor = null;
+        if (hasNext) {
+            Comment last = roots.get(roots.size() - 1);
+            nextCursor = new KeysetCursor(last.getCreatedAt().toString(), last.getId()).encode();
+        }
+
+        return SliceResponse.<CommentThreadResponse>builder()
+                .content(threads)
+                .size(size)
+                .hasNext(hasNext)
+                .nextCursor(nextCursor)
+                .build();
+    }
+
+    /** Descendants d'un commentaire en ordre de parcours, page par page (dépliage à la demande). */
+    @Override
+    @Transactional(readOnly = true)
+    public SliceResponse<CommentResponse> getReplies(Long commentId, String cursor, int size) {
+        Comment comment    = getCommentOrThrow(commentId);
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        size               = Math.max(1, Math.min(size, 100));
+        String upper       = comment.getPath() + SUBTREE_END;
+
+        // Un curseur forgé ne doit pas sortir du sous-arbre [path, path~)
+        String from = comment.getPath();
+        if (after != null) {
+            if (after.sortKey().compareTo(from) < 0 || after.sortKey().compareTo(upper) >= 0) {
+                throw new BadRequestException("Curseur de pagination invalide");
+            }
+            from = after.sortKey();
+        }
+
+        List<Comment> replies = commentRepository.findSubtreeSlice(
+                comment.getArticle().getId(), from, upper, PageRequest.of(0, size + 1));
+
+        boolean hasNext = replies.size() > size;
+        if (hasNext) replies = replies.subList(0, size);
+
+        String nextCursor = null;
+        if (hasNext) {
+            Comment last = replies.get(replies.size() - 1);
+            nextCursor = new KeysetCursor(last.getPath(), last.getId()).encode();
+        }
+
+        return SliceResponse.<CommentResponse>builder()
+                .content(replies.stream().map(commentMapper::toResponse).toList())
+                .size(size)
+                .hasNext(hasNext)
+                .nextCursor(nextCursor)
+                .build();
+    }
+
+    // Une réponse de plus que demandé par racine : elle indique s'il en reste
+    private Map<Long, List<Comment>> loadFirstReplies(Long articleId, List<Comment> roots, int replies) {
+        if (roots.isEmpty() || replies == 0) return Map.of();
+
+        String[] rootPaths = roots.stream().map(Comment::getPath).toArray(String[]::new);
+        List<Long> ids     = commentRepository.findFirstReplyIds(articleId, rootPaths, replies + 1);
+        if (ids.isEmpty()) return Map.of();
+
+        // Le premier segment du path est l'id de la racine
+        return commentRepository.findWithAuthorByIdIn(ids).stream()
+                .sorted(Comparator.comparing(Comment::getPath))
+                .collect(Collectors.groupingBy(
+                        reply -> Long.parseLong(reply.getPath().substring(0, PATH_SEGMENT)),
+                        LinkedHashMap::new,
+                        Collectors.toList()));
+    }
+
     private Comment getCommentOrThrow(Long id) {
         return commentRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Commentaire", "id", id));
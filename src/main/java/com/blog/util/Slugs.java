@@ -0,0 +1,40 @@
+package com.blog.util;
+
+import lombok.experimental.UtilityClass;
+
+import java.util.regex.Pattern;
+
+@UtilityClass
+public class Slugs {
+
+    private static final Pattern NON_SLUG_CHARS  = Pattern.compile("[^a-z0-9\\s-]");
+    private static final Pattern SLUG_SEPARATORS = Pattern.compile("[\\s-]+");
+    private static final Pattern SLUG_SUFFIX     = Pattern.compile("[0-9]{1,9}");
+
+    /** Slug de base d'un titre : "Élève & Co" → "eleve-co" ("article" si rien ne reste). */
+    public static String base(String title) {
+        String folded = NON_SLUG_CHARS.matcher(TextNormalizer.fold(title)).replaceAll("").trim();
+        String slug   = SLUG_SEPARATORS.matcher(folded).replaceAll("-");
+        return slug.isEmpty() ? "article" : slug;
+    }
+
+    /** Vrai si le slug est la base elle-même ou une de ses variantes base-N. */
+    public static boolean derivesFrom(String slug, String base) {
+        return slug.equals(base) || suffixOf(slug, base) > 0;
+    }
+
+    /** Suffixe N de base-N, 0 si le slug n'est pas une variante numérotée de la base. */
+    private static long suffixOf(String slug, String base) {
+        String prefix = base + "-";
+        if (!slug.startsWith(prefix)
+                || !SLUG_SUFFIX.matcher(slug).region(prefix.length(), slug.length()).matches()) {
+            return 0;
+        }
+        return Long.parseLong(slug.substring(prefix.length()));
+    }
+
+    /** Slug de rang N pour une base : la base elle-même pour 0, base-N ensuite. */
+    public static String withSuffix(String base, int suffix) {
+        return suffix == 0 ? base : base + "-" + suffix;
+    }
+}
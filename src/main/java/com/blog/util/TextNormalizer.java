@@ -0,0 +1,19 @@
+package com.blog.util;
+
+import lombok.experimental.UtilityClass;
+
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+@UtilityClass
+public class TextNormalizer {
+
+    private static final Pattern DIACRITIQUES = Pattern.compile("\\p{InCombiningDiacriticalMarks}+");
+
+    /** Minuscules sans accents : "Élève" → "eleve". Base commune des slugs et de la recherche. */
+    public static String fold(String input) {
+        String normalized = Normalizer.normalize(input, Normalizer.Form.NFD);
+        return DIACRITIQUES.matcher(normalized).replaceAll("").toLowerCase(Locale.ROOT);
+    }
+}
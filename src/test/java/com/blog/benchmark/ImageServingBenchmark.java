@@ -0,0 +1,146 @@
+package com.blog.benchmark;
+
+import com.blog.controller.ImageController;
+import com.blog.service.ImageContentCache;
+import com.blog.service.ImageStorageService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockServletContext;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.util.FileSystemUtils;
+import org.springframework.web.context.support.AnnotationConfigWebApplicationContext;
+import org.springframework.web.servlet.config.annotation.EnableWebMvc;
+import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HexFormat;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+/**
+ * Débit de GET /images/** : l'ancien ResourceHandler de WebConfig contre {@link ImageController},
+ * chacun derrière un DispatcherServlet (MockMvc), sur le même fichier.
+ *
+ * <ul>
+ *   <li>small : 16 Ko, servi depuis {@link ImageContentCache} par le contrôleur ;</li>
+ *   <li>large : 1 Mo, relu sur disque par les deux (sendfile n'existe pas sous MockMvc,
+ *       ce cas mesure donc le repli FileSystemResource, pas le chemin Tomcat) ;</li>
+ *   <li>*Revalidation : requête conditionnelle (If-Modified-Since pour l'ancien handler,
+ *       qui n'émet pas d'ETag ; If-None-Match pour le contrôleur), réponse 304.</li>
+ * </ul>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(4)
+@Fork(1)
+public class ImageServingBenchmark {
+
+    @Param({"small", "large"})
+    private String size;
+
+    private Path root;
+    private String url;
+    private String eTag;
+    private String lastModified;
+
+    private AnnotationConfigWebApplicationContext legacyContext;
+    private MockMvc legacy;
+    private MockMvc controller;
+
+    /** L'ancienne configuration, telle qu'avant l'introduction d'ImageController. */
+    @Configuration
+    @EnableWebMvc
+    static class LegacyResourceHandler implements WebMvcConfigurer {
+
+        static Path uploadDir;
+
+        @Override
+        public void addResourceHandlers(ResourceHandlerRegistry registry) {
+            registry
+                .addResourceHandler("/images/**")
+                .addResourceLocations("file:" + uploadDir + "/");
+        }
+    }
+
+    @Setup
+    public void setUp() throws Exception {
+        root = Files.createTempDirectory("image-bench");
+        Path images = root.resolve("images");
+
+        byte[] content = new byte["small".equals(size) ? 16 * 1024 : 1024 * 1024];
+        ThreadLocalRandom.current().nextBytes(content);
+        String hash     = HexFormat.of().formatHex(new byte[32]).replace('0', "small".equals(size) ? 'a' : 'b');
+        String relative = hash.substring(0, 2) + "/" + hash.substring(2, 4) + "/" + hash + ".png";
+        Files.createDirectories(images.resolve(relative).getParent());
+        Files.write(images.resolve(relative), content);
+
+        LegacyResourceHandler.uploadDir = images;
+        legacyContext = new AnnotationConfigWebApplicationContext();
+        legacyContext.setServletContext(new MockServletContext());
+        legacyContext.register(LegacyResourceHandler.class);
+        legacyContext.refresh();
+        legacy = MockMvcBuilders.webAppContextSetup(legacyContext).build();
+
+        ImageContentCache cache = new ImageContentCache();
+        ReflectionTestUtils.setField(cache, "maxBytes", 64L * 1024 * 1024);
+        ReflectionTestUtils.setField(cache, "maxFileSize", 256L * 1024);
+        ReflectionTestUtils.invokeMethod(cache, "init");
+        ImageStorageService storage = new ImageStorageService(null, cache, null);
+        ReflectionTestUtils.setField(storage, "uploadDir", images.toString());
+        storage.init();
+        controller = MockMvcBuilders.standaloneSetup(new ImageController(storage, cache)).build();
+
+        url = "/images/" + relative;
+        eTag = controller.perform(get(url)).andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        lastModified = legacy.perform(get(url)).andReturn().getResponse().getHeader(HttpHeaders.LAST_MODIFIED);
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        legacyContext.close();
+        FileSystemUtils.deleteRecursively(root);
+    }
+
+    @Benchmark
+    public MvcResult resourceHandler() throws Exception {
+        return legacy.perform(get(url)).andReturn();
+    }
+
+    @Benchmark
+    public MvcResult imageController() throws Exception {
+        return controller.perform(get(url)).andReturn();
+    }
+
+    @Benchmark
+    public MvcResult resourceHandlerRevalidation() throws Exception {
+        return legacy.perform(get(url).header(HttpHeaders.IF_MODIFIED_SINCE, lastModified)).andReturn();
+    }
+
+    @Benchmark
+    public MvcResult imageControllerRevalidation() throws Exception {
+        return controller.perform(get(url).header(HttpHeaders.IF_NONE_MATCH, eTag)).andReturn();
+    }
+}
@@ -0,0 +1,132 @@
+package com.blog.benchmark;
+
+import com.blog.entity.Role;
+import com.blog.entity.User;
+import com.blog.security.JwtAuthenticationFilter;
+import com.blog.security.JwtService;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import jakarta.servlet.FilterChain;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Coût par requête de l'authentification JWT, hors base (UserDetailsService en mémoire).
+ *
+ * <ul>
+ *   <li>baseline : l'ancien enchaînement, extractUsername puis isTokenValid, soit trois
+ *       parsings HMAC avec une clé décodée à chaque appel ;</li>
+ *   <li>filterCachedToken : le filtre actuel, token déjà vérifié (cas courant) ;</li>
+ *   <li>filterUncachedToken : le filtre actuel sans cache de tokens, un seul parsing.</li>
+ * </ul>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtFilterBenchmark {
+
+    private static final String SECRET = "dGVzdC1zZWNyZXQtdGVzdC1zZWNyZXQtdGVzdC1zZWNyZXQtdGVzdC1zZWNyZXQ=";
+    private static final FilterChain NO_OP = (request, response) -> { };
+
+    private UserDetails user;
+    private UserDetailsService userDetailsService;
+    private String token;
+
+    private JwtAuthenticationFilter cachedFilter;
+    private JwtAuthenticationFilter uncachedFilter;
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+
+    @Setup
+    public void setUp() {
+        user = User.builder().username("bench").email("bench@test.local")
+                .password("x").role(Role.USER).enabled(true).build();
+        userDetailsService = username -> user;
+
+        JwtService cached   = jwtService(10_000);
+        JwtService uncached = jwtService(0);
+        token = cached.generateToken(user);
+
+        cachedFilter   = new JwtAuthenticationFilter(cached, userDetailsService, null);
+        uncachedFilter = new JwtAuthenticationFilter(uncached, userDetailsService, null);
+
+        request = new MockHttpServletRequest("GET", "/api/articles");
+        request.addHeader("Authorization", "Bearer " + token);
+        response = new MockHttpServletResponse();
+    }
+
+    @TearDown(Level.Invocation)
+    public void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Benchmark
+    public Object baseline() {
+        String username = legacyClaim(token, Claims::getSubject);
+        UserDetails details = userDetailsService.loadUserByUsername(username);
+        boolean valid = legacyClaim(token, Claims::getSubject).equals(details.getUsername())
+                && !legacyClaim(token, Claims::getExpiration).before(new Date());
+        if (!valid) throw new IllegalStateException("token refusé");
+        UsernamePasswordAuthenticationToken authentication =
+                new UsernamePasswordAuthenticationToken(details, null, details.getAuthorities());
+        SecurityContextHolder.getContext().setAuthentication(authentication);
+        return authentication;
+    }
+
+    @Benchmark
+    public Object filterCachedToken() throws Exception {
+        cachedFilter.doFilter(request, response, NO_OP);
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+
+    @Benchmark
+    public Object filterUncachedToken() throws Exception {
+        uncachedFilter.doFilter(request, response, NO_OP);
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+
+    // Ancienne implémentation : clé reconstruite et signature vérifiée à chaque lecture de claim
+    private static <T> T legacyClaim(String token, Function<Claims, T> resolver) {
+        Claims claims = Jwts.parser()
+                .verifyWith(Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET)))
+                .build()
+                .parseSignedClaims(token)
+                .getPayload();
+        return resolver.apply(claims);
+    }
+
+    private static JwtService jwtService(long cacheSize) {
+        JwtService service = new JwtService();
+        ReflectionTestUtils.setField(service, "secretKey", SECRET);
+        ReflectionTestUtils.setField(service, "jwtExpiration", TimeUnit.HOURS.toMillis(1));
+        ReflectionTestUtils.setField(service, "verifiedCacheMaxSize", cacheSize);
+        ReflectionTestUtils.invokeMethod(service, "init");
+        return service;
+    }
+}
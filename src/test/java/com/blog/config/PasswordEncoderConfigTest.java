@@ -0,0 +1,32 @@
+package com.blog.config;
+
+import com.blog.security.BoundedPasswordEncoder;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PasswordEncoderConfigTest {
+
+    private final PasswordEncoder encoder = new ApplicationConfig().passwordEncoder(6, 1, 4);
+
+    @AfterEach
+    void shutdown() throws Exception {
+        ((BoundedPasswordEncoder) encoder).destroy();
+    }
+
+    @Test
+    void upgradesOnlyWeakerBcryptHashes() {
+        assertThat(encoder.upgradeEncoding(new BCryptPasswordEncoder(4).encode("secret"))).isTrue();
+        assertThat(encoder.upgradeEncoding(encoder.encode("secret"))).isFalse();
+    }
+
+    @Test
+    void unknownHashFormatsAreNotUpgradedAndDoNotThrow() {
+        assertThat(encoder.upgradeEncoding("{bcrypt}$2a$04$abcdefghijklmnopqrstuv")).isFalse();
+        assertThat(encoder.upgradeEncoding("legacy-hash")).isFalse();
+        assertThat(encoder.upgradeEncoding("")).isFalse();
+    }
+}
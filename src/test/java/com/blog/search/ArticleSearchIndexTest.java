@@ -0,0 +1,123 @@
+package com.blog.search;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ArticleSearchIndexTest {
+
+    private final ArticleSearchIndex index = new ArticleSearchIndex();
+
+    @Test
+    void titleMatchOutranksContentMatch() {
+        index.upsert(1, "Cuisine du marché", null, "Recettes de saison avec des produits frais", List.of(), true);
+        index.upsert(2, "Voyage en Italie", null, "Un détour par la cuisine locale", List.of(), true);
+        index.upsert(3, "Jardinage", null, "Rien à voir", List.of(), true);
+
+        ArticleSearchIndex.SearchResult result = index.search("cuisine", null, null, 0, 10);
+
+        assertThat(result.articleIds()).containsExactly(1L, 2L);
+        assertThat(result.total()).isEqualTo(2);
+    }
+
+    @Test
+    void rarerTermWeighsMore() {
+        // Même longueur, mêmes termes : « loom » est rare, l'article qui le répète passe devant
+        index.upsert(1, null, null, "java java java loom", List.of(), true);
+        index.upsert(2, null, null, "java loom loom loom", List.of(), true);
+        LongStream.rangeClosed(3, 8).forEach(id -> index.upsert(id, null, null, "java", List.of(), true));
+
+        assertThat(index.search("java loom", null, null, 0, 10).articleIds()).containsExactly(2L, 1L);
+        assertThat(index.search("java", null, null, 0, 10).total()).isEqualTo(8);
+    }
+
+    @Test
+    void everyTermIsRequiredAndAccentsAreFolded() {
+        index.upsert(1, "Été à Paris", null, "Promenade", List.of(), true);
+        index.upsert(2, "Été à Lyon", null, "Promenade", List.of(), true);
+
+        assertThat(index.search("ete PARIS", null, null, 0, 10).articleIds()).containsExactly(1L);
+        assertThat(index.search("ete marseille", null, null, 0, 10).total()).isZero();
+        assertThat(index.search("a", null, null, 0, 10)).isEqualTo(ArticleSearchIndex.SearchResult.EMPTY);
+    }
+
+    @Test
+    void publishedAndTagFilters() {
+        index.upsert(1, "Spring publié", null, "", List.of("java"), true);
+        index.upsert(2, "Spring brouillon", null, "", List.of("java"), false);
+        index.upsert(3, "Spring autre", null, "", List.of("web"), true);
+
+        assertThat(index.search("spring", null, null, 0, 10).articleIds()).containsExactlyInAnyOrder(1L, 3L);
+        assertThat(index.search("spring", null, false, 0, 10).articleIds()).containsExactly(2L);
+        assertThat(index.search("spring", List.of("java"), null, 0, 10).articleIds()).containsExactly(1L);
+        assertThat(index.search("spring", List.of("java", "web"), true, 0, 10).articleIds())
+                .containsExactlyInAnyOrder(1L, 3L);
+        assertThat(index.search("spring", List.of("absent"), null, 0, 10).total()).isZero();
+    }
+
+    @Test
+    void offsetAndLimitKeepTotal() {
+        LongStream.rangeClosed(1, 10).forEach(id ->
+                index.upsert(id, "Article " + "mot ".repeat((int) id), null, "", List.of(), true));
+
+        ArticleSearchIndex.SearchResult page = index.search("mot", null, null, 3, 4);
+
+        assertThat(page.total()).isEqualTo(10);
+        assertThat(page.articleIds()).hasSize(4);
+        assertThat(index.search("mot", null, null, 0, 10).articleIds().subList(3, 7))
+                .isEqualTo(page.articleIds());
+        assertThat(index.search("mot", null, null, 0, 0).articleIds()).isEmpty();
+    }
+
+    @Test
+    void upsertReplacesPreviousVersion() {
+        index.upsert(1, "Ancien titre", null, "", List.of("vieux"), true);
+        index.upsert(1, "Nouveau titre", null, "", List.of("neuf"), true);
+
+        assertThat(index.search("ancien", null, null, 0, 10).total()).isZero();
+        assertThat(index.search("nouveau", null, null, 0, 10).articleIds()).containsExactly(1L);
+        assertThat(index.search("titre", List.of("vieux"), null, 0, 10).total()).isZero();
+        assertThat(index.size()).isEqualTo(1);
+    }
+
+    @Test
+    void removedArticleIsNoLongerFound() {
+        index.upsert(1, "Supprimé", null, "", List.of(), true);
+        index.upsert(2, "Conservé", null, "", List.of(), true);
+
+        index.remove(1);
+        index.remove(42);   // inconnu : sans effet
+
+        assertThat(index.search("supprime", null, null, 0, 10).total()).isZero();
+        assertThat(index.size()).isEqualTo(1);
+    }
+
+    @Test
+    void compactionRenumbersAndKeepsResults() {
+        int articles = 3000;
+        for (long id = 1; id <= articles; id++) {
+            index.upsert(id, "Commun " + (id % 2 == 0 ? "pair" : "impair"), null, "", List.of(id % 2 == 0 ? "p" : "i"),
+                    true);
+        }
+        // Les ordinaux morts dépassent les vivants : compactage et renumérotation
+        for (long id = 1; id <= 2000; id++) index.remove(id);
+
+        assertThat((int) ReflectionTestUtils.getField(index, "docCount")).isLessThan(articles);
+        assertThat(index.size()).isEqualTo(1000);
+        assertThat(index.search("commun", null, null, 0, 0).total()).isEqualTo(1000);
+        assertThat(index.search("pair", List.of("p"), null, 0, 1000).articleIds())
+                .hasSize(500)
+                .allMatch(id -> id > 2000 && id % 2 == 0);
+
+        // Les écritures suivantes repartent des nouveaux ordinaux
+        index.upsert(2001, "Commun réécrit", null, "", List.of("i"), true);
+        index.upsert(9999, "Commun ajouté", null, "", List.of(), true);
+        assertThat(index.search("reecrit", null, null, 0, 10).articleIds()).containsExactly(2001L);
+        assertThat(index.search("impair", null, null, 0, 1000).articleIds()).doesNotContain(2001L);
+        assertThat(index.search("commun", null, null, 0, 0).total()).isEqualTo(1001);
+    }
+}
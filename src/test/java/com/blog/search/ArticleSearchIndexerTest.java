@@ -0,0 +1,96 @@
+package com.blog.search;
+
+import com.blog.dto.request.ArticleSearchFilter;
+import com.blog.entity.Article;
+import com.blog.entity.Tag;
+import com.blog.event.ArticleChangedEvent;
+import com.blog.repository.ArticleRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ArticleSearchIndexerTest {
+
+    private final ArticleRepository articleRepository = mock(ArticleRepository.class);
+    private ArticleSearchIndexer indexer;
+
+    @BeforeEach
+    void setUp() {
+        indexer = new ArticleSearchIndexer(articleRepository, mock(PlatformTransactionManager.class));
+        ReflectionTestUtils.setField(indexer, "batchSize", 2);
+        when(articleRepository.findIdsAfter(eq(0L), any(Pageable.class))).thenReturn(List.of(1L, 2L));
+        when(articleRepository.findIdsAfter(eq(2L), any(Pageable.class))).thenReturn(List.of());
+    }
+
+    @Test
+    void answersOnlyKeywordSearchesOnceBuilt() {
+        ArticleSearchFilter keyword = filter("spring", null, null);
+        assertThat(indexer.canAnswer(keyword)).isFalse();
+
+        when(articleRepository.findWithTagsByIdIn(anyCollection()))
+                .thenReturn(List.of(article(1L, "Spring", true), article(2L, "Hibernate", true)));
+        indexer.rebuild();
+
+        assertThat(indexer.canAnswer(keyword)).isTrue();
+        assertThat(indexer.canAnswer(filter(null, null, null))).isFalse();
+        assertThat(indexer.canAnswer(filter(" ", null, null))).isFalse();
+        assertThat(indexer.canAnswer(filter("spring", "alice", null))).isFalse();
+        assertThat(indexer.canAnswer(filter("spring", null, LocalDateTime.now()))).isFalse();
+        assertThat(indexer.search(keyword, 0, 10).articleIds()).containsExactly(1L);
+    }
+
+    @Test
+    void eventDuringRebuildWinsOverStaleBatch() {
+        // Le lot a été lu avant le commit des événements : il ne doit pas les écraser
+        when(articleRepository.findWithTagsByIdIn(anyCollection())).thenAnswer(invocation -> {
+            indexer.onArticleChanged(event(ArticleChangedEvent.Type.UPDATED, 1L, "Titre récent"));
+            indexer.onArticleChanged(event(ArticleChangedEvent.Type.DELETED, 2L, "Supprimé"));
+            return List.of(article(1L, "Titre périmé", true), article(2L, "Supprimé", true));
+        });
+
+        indexer.rebuild();
+
+        assertThat(indexer.search(filter("recent", null, null), 0, 10).articleIds()).containsExactly(1L);
+        assertThat(indexer.search(filter("perime", null, null), 0, 10).total()).isZero();
+        assertThat(indexer.search(filter("supprime", null, null), 0, 10).total()).isZero();
+    }
+
+    @Test
+    void coverChangeDoesNotTouchIndex() {
+        when(articleRepository.findWithTagsByIdIn(anyCollection())).thenReturn(List.of(article(1L, "Spring", true)));
+        indexer.rebuild();
+
+        indexer.onArticleChanged(event(ArticleChangedEvent.Type.COVER_CHANGED, 1L, null));
+
+        assertThat(indexer.search(filter("spring", null, null), 0, 10).articleIds()).containsExactly(1L);
+    }
+
+    private static ArticleSearchFilter filter(String keyword, String author, LocalDateTime createdAfter) {
+        return new ArticleSearchFilter(keyword, author, null, null, createdAfter, null, null);
+    }
+
+    private static Article article(Long id, String title, boolean published) {
+        Article article = Article.builder()
+                .title(title).content("Contenu").published(published)
+                .tags(List.of(Tag.builder().name("tag").build()))
+                .build();
+        article.setId(id);
+        return article;
+    }
+
+    private static ArticleChangedEvent event(ArticleChangedEvent.Type type, Long id, String title) {
+        return new ArticleChangedEvent(type, id, "slug-" + id, title, null, "Contenu", List.of(), true, null);
+    }
+}
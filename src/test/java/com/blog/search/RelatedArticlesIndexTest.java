@@ -0,0 +1,109 @@
+package com.blog.search;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RelatedArticlesIndexTest {
+
+    private final RelatedArticlesIndex index = new RelatedArticlesIndex();
+
+    @Test
+    void orderedByJaccardSimilarity() {
+        index.upsert(1, List.of("a", "b", "c"), true, 1);
+        index.upsert(2, List.of("a", "b", "c"), true, 2);             // 3/3
+        index.upsert(3, List.of("a", "b"), true, 3);                  // 2/3
+        index.upsert(4, List.of("a", "b", "c", "d", "e"), true, 4);   // 3/5
+        index.upsert(5, List.of("a", "x"), true, 5);                  // 1/4
+        index.upsert(6, List.of("x"), true, 6);                       // aucun tag commun
+
+        assertThat(index.related(1, 10)).containsExactly(2L, 3L, 4L, 5L);
+        assertThat(index.related(1, 2)).containsExactly(2L, 3L);
+    }
+
+    @Test
+    void tiesGoToMostRecentThenHighestId() {
+        index.upsert(1, List.of("a"), true, 0);
+        index.upsert(2, List.of("a"), true, 100);
+        index.upsert(3, List.of("a"), true, 300);
+        index.upsert(4, List.of("a"), true, 200);
+        index.upsert(5, List.of("a"), true, 300);
+
+        assertThat(index.related(1, 10)).containsExactly(5L, 3L, 4L, 2L);
+        assertThat(index.related(1, 3)).containsExactly(5L, 3L, 4L);
+    }
+
+    @Test
+    void draftsAndSourceAreExcluded() {
+        index.upsert(1, List.of("a"), true, 1);
+        index.upsert(2, List.of("a"), false, 2);
+        index.upsert(3, List.of("a"), true, 3);
+        index.upsert(4, List.of(), true, 4);
+
+        assertThat(index.related(1, 10)).containsExactly(3L);
+        // Un brouillon a tout de même des articles similaires
+        assertThat(index.related(2, 10)).containsExactly(3L, 1L);
+        assertThat(index.related(4, 10)).isEmpty();
+        assertThat(index.related(42, 10)).isEmpty();
+        assertThat(index.related(1, 0)).isEmpty();
+        assertThat(index.size()).isEqualTo(3);
+    }
+
+    @Test
+    void removedAndRewrittenArticlesFollow() {
+        index.upsert(1, List.of("a", "b"), true, 1);
+        index.upsert(2, List.of("a", "b"), true, 2);
+        index.upsert(3, List.of("a"), true, 3);
+        index.upsert(4, List.of("a", "b"), false, 4);
+
+        index.remove(2);
+        index.remove(42);   // inconnu : sans effet
+        index.upsert(3, List.of("z"), true, 3);
+        index.upsert(4, List.of("a", "b"), true, 4);
+
+        assertThat(index.related(1, 10)).containsExactly(4L);
+        assertThat(index.related(3, 10)).isEmpty();
+        assertThat(index.size()).isEqualTo(3);
+    }
+
+    @Test
+    void compactionRenumbersAndKeepsResults() {
+        int articles = 3000;
+        for (long id = 1; id <= articles; id++) {
+            index.upsert(id, List.of("commun", id % 2 == 0 ? "pair" : "impair"), true, id);
+        }
+        // Les ordinaux morts dépassent les vivants : compactage et renumérotation
+        for (long id = 1; id <= 2000; id++) index.remove(id);
+
+        assertThat((int) ReflectionTestUtils.getField(index, "docCount")).isLessThan(articles);
+        assertThat(index.size()).isEqualTo(1000);
+
+        List<Long> related = index.related(2002, 1000);
+        assertThat(related).hasSize(999);
+        assertThat(related.subList(0, 499)).allMatch(id -> id > 2000 && id % 2 == 0);
+        assertThat(related.get(0)).isEqualTo(3000L);
+        assertThat(related.get(499)).isEqualTo(2999L);
+
+        // Les écritures suivantes repartent des nouveaux ordinaux
+        index.upsert(2001, List.of("commun", "pair"), true, 9999);
+        index.upsert(9999, List.of("pair"), true, 1);
+        assertThat(index.related(2002, 2)).containsExactly(2001L, 3000L);
+        assertThat(index.related(9999, 1)).containsExactly(2001L);
+    }
+
+    @Test
+    void cappedScanKeepsRecentAndRareMatches() {
+        RelatedArticlesIndex capped = new RelatedArticlesIndex(2);
+        capped.upsert(1, List.of("courant", "rare"), true, 1);
+        for (long id = 2; id <= 10; id++) {
+            capped.upsert(id, id == 3 ? List.of("courant", "rare") : List.of("courant"), true, id);
+        }
+
+        // Seuls les 2 postings les plus récents de « courant » sont lus ; l'article 3,
+        // trouvé par « rare » sous ce plancher, garde ses deux tags communs
+        assertThat(capped.related(1, 10)).containsExactly(3L, 10L, 9L);
+    }
+}
@@ -0,0 +1,84 @@
+package com.blog.security;
+
+import com.blog.entity.Role;
+import com.blog.entity.User;
+import com.blog.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class CachedUserDetailsServiceTest {
+
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private CachedUserDetailsService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new CachedUserDetailsService(userRepository);
+        ReflectionTestUtils.setField(service, "maxSize", 100L);
+        ReflectionTestUtils.setField(service, "ttl", Duration.ofMinutes(5));
+        service.init();
+        when(userRepository.findByEmail(anyString())).thenReturn(Optional.empty());
+    }
+
+    @Test
+    void servesUsernameAndEmailFromOneEntry() {
+        when(userRepository.findByUsername("alice")).thenReturn(Optional.of(user("old")));
+
+        service.loadUserByUsername("alice");
+        service.loadUserByUsername("alice");
+        service.loadUserByUsername("alice@test.local");
+
+        verify(userRepository, times(1)).findByUsername("alice");
+        assertThat(service.stats().hitCount()).isEqualTo(2);
+    }
+
+    @Test
+    void invalidationDuringLoadDoesNotCacheStaleUser() {
+        // Le changement de mot de passe est commité (et invalidé) entre la lecture et la mise en cache
+        when(userRepository.findByUsername("alice"))
+                .thenAnswer(invocation -> {
+                    service.invalidate(1L);
+                    return Optional.of(user("old"));
+                })
+                .thenReturn(Optional.of(user("new")));
+
+        assertThat(service.loadUserByUsername("alice").getPassword()).isEqualTo("old");
+        assertThat(service.loadUserByUsername("alice").getPassword()).isEqualTo("new");
+    }
+
+    @Test
+    void invalidateByIdEvictsUsernameAndEmail() {
+        when(userRepository.findByUsername("alice"))
+                .thenReturn(Optional.of(user("old")))
+                .thenReturn(Optional.of(user("new")));
+        service.loadUserByUsername("alice");
+
+        service.invalidate(1L);
+
+        assertThat(service.loadUserByUsername("alice").getPassword()).isEqualTo("new");
+        assertThat(service.loadUserByUsername("alice@test.local").getPassword()).isEqualTo("new");
+    }
+
+    private static User user(String password) {
+        User user = User.builder()
+                .username("alice")
+                .email("alice@test.local")
+                .password(password)
+                .role(Role.USER)
+                .enabled(true)
+                .build();
+        user.setId(1L);
+        return user;
+    }
+}
@@ -0,0 +1,149 @@
+package com.blog.service;
+
+import com.blog.dto.response.ArticleResponse;
+import com.blog.entity.Role;
+import com.blog.exception.ResourceNotFoundException;
+import com.blog.exception.ServiceUnavailableException;
+import com.blog.support.PostgresIntegrationTest;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 500 lecteurs simultanés d'un même slug, cache froid. La table articles est verrouillée
+ * pendant que les lecteurs arrivent : le premier chargement reste bloqué en base et tous
+ * les autres le rejoignent, le nombre de requêtes ne dépend donc pas de l'ordonnancement.
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ArticleCacheLoadTest extends PostgresIntegrationTest {
+
+    private static final int READERS = 500;
+
+    @Autowired
+    private ArticleService articleService;
+
+    @Autowired
+    private ArticleCache articleCache;
+
+    @Autowired
+    private DataSource dataSource;
+
+    private ExecutorService executor;
+    private String slug;
+    private long queriesPerLoad;
+
+    @BeforeAll
+    void createArticle() {
+        executor = Executors.newFixedThreadPool(READERS);
+        slug = articleService.createArticle(
+                articleRequest(unique("Populaire"), true, List.of(unique("tag"))),
+                createUser(Role.USER).getUsername()).getSlug();
+
+        // Coût d'un chargement seul, cache froid : résolution du slug puis lecture de l'article
+        articleCache.invalidateAll();
+        Statistics statistics = resetStatistics();
+        articleService.getArticleBySlug(slug);
+        queriesPerLoad = statistics.getPrepareStatementCount();
+    }
+
+    @AfterAll
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void concurrentReadersShareOneLoad() throws Exception {
+        articleCache.invalidateAll();
+        Statistics statistics = resetStatistics();
+
+        List<Future<ArticleResponse>> readers = readAllWhileLocked(slug, 1000);
+
+        for (Future<ArticleResponse> reader : readers) {
+            assertThat(reader.get().getSlug()).isEqualTo(slug);
+        }
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(queriesPerLoad);
+    }
+
+    @Test
+    void loadFailureReachesEveryReader() throws Exception {
+        String missing = unique("absent");
+        Statistics statistics = resetStatistics();
+
+        List<Future<ArticleResponse>> readers = readAllWhileLocked(missing, 1000);
+
+        for (Future<ArticleResponse> reader : readers) {
+            assertThat(failureOf(reader)).isInstanceOf(ResourceNotFoundException.class);
+        }
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void waitersGiveUpAfterLoadTimeout() throws Exception {
+        articleCache.invalidateAll();
+        Statistics statistics = resetStatistics();
+
+        // Verrou tenu au-delà de load-timeout (2s en test) : les lecteurs en attente reçoivent un 503
+        List<Future<ArticleResponse>> readers = readAllWhileLocked(slug, 3000);
+
+        int loaded = 0;
+        int timedOut = 0;
+        for (Future<ArticleResponse> reader : readers) {
+            Throwable failure = failureOf(reader);
+            if (failure == null) loaded++;
+            else if (failure instanceof ServiceUnavailableException) timedOut++;
+            else throw new AssertionError(failure);
+        }
+        assertThat(loaded).isGreaterThanOrEqualTo(1);
+        assertThat(timedOut).isGreaterThan(READERS / 2);
+        // Les lecteurs partis en 503 n'ont pas relancé de chargement
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(queriesPerLoad);
+    }
+
+    private List<Future<ArticleResponse>> readAllWhileLocked(String slug, long lockMillis) throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<ArticleResponse>> readers = new ArrayList<>(READERS);
+
+        try (Connection lock = dataSource.getConnection()) {
+            lock.setAutoCommit(false);
+            try (Statement statement = lock.createStatement()) {
+                statement.execute("LOCK TABLE articles IN ACCESS EXCLUSIVE MODE");
+            }
+            for (int i = 0; i < READERS; i++) {
+                readers.add(executor.submit(() -> {
+                    start.await();
+                    return articleService.getArticleBySlug(slug);
+                }));
+            }
+            start.countDown();
+            TimeUnit.MILLISECONDS.sleep(lockMillis);
+            lock.commit();
+        }
+        return readers;
+    }
+
+    private static Throwable failureOf(Future<ArticleResponse> reader) throws InterruptedException {
+        try {
+            reader.get();
+            return null;
+        } catch (ExecutionException e) {
+            return e.getCause();
+        }
+    }
+}
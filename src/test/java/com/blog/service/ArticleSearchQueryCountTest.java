@@ -0,0 +1,72 @@
+package com.blog.service;
+
+import com.blog.dto.request.ArticleSearchFilter;
+import com.blog.dto.request.PageParametres;
+import com.blog.dto.response.ArticleResponse;
+import com.blog.dto.response.PageResponse;
+import com.blog.entity.Role;
+import com.blog.entity.User;
+import com.blog.support.PostgresIntegrationTest;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ArticleSearchQueryCountTest extends PostgresIntegrationTest {
+
+    private static final int ARTICLES = 40;
+
+    @Autowired
+    private ArticleService articleService;
+
+    private User author;
+
+    @BeforeAll
+    void createArticles() {
+        author = createUser(Role.USER);
+        for (int i = 0; i < ARTICLES; i++) {
+            articleService.createArticle(
+                    articleRequest("Recherche " + i, true, List.of(unique("tag"), unique("tag"))),
+                    author.getUsername());
+        }
+    }
+
+    @Test
+    void queryCountDoesNotGrowWithPageSize() {
+        long small = queriesFor(5);
+        long large = queriesFor(ARTICLES);
+
+        assertThat(large).isEqualTo(small);
+        // Page d'ids, COUNT, puis articles + auteur + tags en une requête
+        assertThat(large).isLessThanOrEqualTo(3);
+    }
+
+    @Test
+    void pageKeepsSortOrderAndLoadsAssociations() {
+        PageResponse<ArticleResponse> page = articleService.searchArticles(
+                filter(), new PageParametres(0, ARTICLES, "createdAt"));
+
+        assertThat(page.getTotalElements()).isEqualTo(ARTICLES);
+        assertThat(page.getContent()).extracting(ArticleResponse::getTitle)
+                .first().isEqualTo("Recherche " + (ARTICLES - 1));
+        assertThat(page.getContent()).allSatisfy(article -> assertThat(article.getTags()).hasSize(2));
+    }
+
+    private long queriesFor(int pageSize) {
+        Statistics statistics = resetStatistics();
+        PageResponse<ArticleResponse> page = articleService.searchArticles(
+                filter(), new PageParametres(0, pageSize, "createdAt"));
+        assertThat(page.getContent()).hasSize(pageSize);
+        return statistics.getPrepareStatementCount();
+    }
+
+    private ArticleSearchFilter filter() {
+        return new ArticleSearchFilter(null, author.getUsername(), null, true, null, null, null);
+    }
+}
@@ -0,0 +1,71 @@
+package com.blog.service;
+
+import com.blog.dto.response.ArticleResponse;
+import com.blog.entity.Role;
+import com.blog.entity.User;
+import com.blog.support.PostgresIntegrationTest;
+import com.blog.util.Slugs;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ArticleSlugConcurrencyTest extends PostgresIntegrationTest {
+
+    private static final int WRITERS = 32;
+
+    @Autowired
+    private ArticleService articleService;
+
+    @Test
+    void parallelCreatesOfSameTitleAllGetDistinctSlugs() throws Exception {
+        User author  = createUser(Role.USER);
+        String title = unique("Concurrence");
+        String base  = Slugs.base(title);
+
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(WRITERS);
+        try {
+            List<Future<ArticleResponse>> futures = new ArrayList<>();
+            for (int i = 0; i < WRITERS; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return articleService.createArticle(articleRequest(title, true, List.of()), author.getUsername());
+                }));
+            }
+            start.countDown();
+
+            List<String> slugs = new ArrayList<>();
+            for (Future<ArticleResponse> future : futures) slugs.add(future.get().getSlug());
+
+            assertThat(slugs).containsExactlyInAnyOrderElementsOf(
+                    IntStream.range(0, WRITERS).mapToObj(suffix -> Slugs.withSuffix(base, suffix)).toList());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void suffixSkipsSlugTakenByNeighbouringBase() {
+        User author  = createUser(Role.USER);
+        String title = unique("Voisin");
+        String base  = Slugs.base(title);
+
+        // « Titre 2 » occupe base-2 sans passer par le compteur de base : la suite repart après lui
+        articleService.createArticle(articleRequest(title + " 2", true, List.of()), author.getUsername());
+
+        List<String> slugs = IntStream.range(0, 3)
+                .mapToObj(i -> articleService.createArticle(articleRequest(title, true, List.of()), author.getUsername()).getSlug())
+                .toList();
+
+        assertThat(slugs).containsExactly(base, base + "-3", base + "-4");
+    }
+}
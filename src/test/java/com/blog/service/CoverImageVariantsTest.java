@@ -0,0 +1,68 @@
+package com.blog.service;
+
+import com.blog.dto.response.ArticleResponse;
+import com.blog.entity.Role;
+import com.blog.entity.User;
+import com.blog.repository.ArticleVersion;
+import com.blog.support.PostgresIntegrationTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CoverImageVariantsTest extends PostgresIntegrationTest {
+
+    @Autowired
+    private ArticleService articleService;
+
+    @Test
+    void attachingVariantsKeepsVersionButChangesETag() throws Exception {
+        User author = createUser(Role.USER);
+        Long id = articleService.createArticle(articleRequest(unique("Couverture"), true, List.of()),
+                author.getUsername()).getId();
+
+        byte[] png = png(1600, 900);
+        ArticleResponse uploaded = articleService.uploadCoverImage(
+                id, new ByteArrayInputStream(png), png.length, author.getUsername());
+        ArticleVersion beforeVariants = ArticleETags.versionOf(uploaded);
+        assertThat(beforeVariants.coverVariants()).isFalse();
+
+        ArticleVersion afterVariants = awaitVariants(id);
+
+        assertThat(afterVariants.version()).isEqualTo(beforeVariants.version());
+        assertThat(ArticleETags.representation(afterVariants)).isNotEqualTo(ArticleETags.representation(beforeVariants));
+        // Un If-Match lu avant la génération reste valable ; un ETag faible ne l'est jamais
+        assertThat(ArticleETags.satisfiesIfMatch(afterVariants, ArticleETags.strong(beforeVariants))).isTrue();
+        assertThat(ArticleETags.satisfiesIfMatch(afterVariants, ArticleETags.representation(afterVariants))).isFalse();
+        assertThat(articleService.getArticleById(id).getCoverVariants()).hasSize(3);
+
+        ArticleResponse removed = articleService.removeCoverImage(id, author.getUsername());
+        assertThat(removed.getCoverVariants()).isNull();
+        assertThat(articleService.getArticleVersion(id).coverVariants()).isFalse();
+    }
+
+    private ArticleVersion awaitVariants(Long id) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (System.nanoTime() < deadline) {
+            ArticleVersion version = articleService.getArticleVersion(id);
+            if (version.coverVariants()) return version;
+            TimeUnit.MILLISECONDS.sleep(50);
+        }
+        throw new AssertionError("Déclinaisons non générées pour l'article " + id);
+    }
+
+    private static byte[] png(int width, int height) throws Exception {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        for (int x = 0; x < width; x++) image.setRGB(x, x * height / width, 0xFF8800);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", out);
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,107 @@
+package com.blog.service;
+
+import com.blog.entity.Role;
+import com.blog.entity.User;
+import com.blog.support.PostgresIntegrationTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ImageStorageServiceTest extends PostgresIntegrationTest {
+
+    @Autowired
+    private ImageStorageService imageStorageService;
+
+    @Autowired
+    private ArticleService articleService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void rolledBackReleaseKeepsFileAndReference() throws Exception {
+        String url = imageStorageService.store(new ByteArrayInputStream(randomPng()), -1);
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            imageStorageService.delete(url);
+            status.setRollbackOnly();
+        });
+
+        assertThat(Files.exists(imageStorageService.resolve(url))).isTrue();
+        assertThat(refCount(url)).isEqualTo(1);
+    }
+
+    @Test
+    void fileIsRemovedOnlyAfterCommit() throws Exception {
+        String url  = imageStorageService.store(new ByteArrayInputStream(randomPng()), -1);
+        Path   file = imageStorageService.resolve(url);
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            imageStorageService.delete(url);
+            assertThat(Files.exists(file)).isTrue();
+        });
+
+        assertThat(Files.exists(file)).isFalse();
+        assertThat(refCount(url)).isNull();
+    }
+
+    @Test
+    void reconcileReleasesLeakedReferencesOnly() throws Exception {
+        User author = createUser(Role.USER);
+        Long id = articleService.createArticle(articleRequest(unique("Image"), true, List.of()),
+                author.getUsername()).getId();
+        byte[] cover = randomPng();
+        String coverUrl = articleService.uploadCoverImage(
+                id, new ByteArrayInputStream(cover), cover.length, author.getUsername()).getCoverImageUrl();
+
+        // Référence commitée par l'upload, URL jamais écrite (arrêt entre les deux)
+        String leaked = imageStorageService.store(new ByteArrayInputStream(randomPng()), -1);
+
+        Duration grace = (Duration) ReflectionTestUtils.getField(imageStorageService, "reconcileGrace");
+        ReflectionTestUtils.setField(imageStorageService, "reconcileGrace", Duration.ZERO);
+        try {
+            imageStorageService.reconcile();
+        } finally {
+            ReflectionTestUtils.setField(imageStorageService, "reconcileGrace", grace);
+        }
+
+        assertThat(refCount(leaked)).isNull();
+        assertThat(Files.exists(imageStorageService.resolve(leaked))).isFalse();
+        assertThat(refCount(coverUrl)).isEqualTo(1);
+        assertThat(Files.exists(imageStorageService.resolve(coverUrl))).isTrue();
+    }
+
+    private Integer refCount(String url) {
+        String path = url.substring(url.length() - "ab/cd/".length() - 64 - ".png".length());
+        return jdbcTemplate.query("SELECT ref_count FROM stored_images WHERE path = ?",
+                rs -> rs.next() ? rs.getInt(1) : null, path);
+    }
+
+    // Contenu unique : pas de partage de fichier avec les autres tests
+    private static byte[] randomPng() throws Exception {
+        BufferedImage image = new BufferedImage(4, 4, BufferedImage.TYPE_INT_RGB);
+        image.setRGB(0, 0, ThreadLocalRandom.current().nextInt(0x1000000));
+        image.setRGB(3, 3, ThreadLocalRandom.current().nextInt(0x1000000));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", out);
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,135 @@
+package com.blog.service;
+
+import com.blog.entity.Role;
+import com.blog.support.PostgresIntegrationTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compteurs de tags tenus par delta, comparés à la vérité recalculée par GROUP BY
+ * sur article_tags après chaque type d'écriture.
+ */
+class TagStatisticsTest extends PostgresIntegrationTest {
+
+    private static final String GROUND_TRUTH =
+            "SELECT tg.name, tg.published_article_count AS stored, COUNT(a.id) AS actual FROM tags tg "
+          + "LEFT JOIN article_tags at ON at.tag_id = tg.id "
+          + "LEFT JOIN articles a ON a.id = at.article_id AND a.published "
+          + "WHERE tg.name = ANY (?::varchar[]) GROUP BY tg.id";
+
+    @Autowired
+    private ArticleService articleService;
+
+    @Autowired
+    private ArticleImportService articleImportService;
+
+    @Autowired
+    private TagStatistics tagStatistics;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private String author;
+    private String a;
+    private String b;
+    private String c;
+
+    @BeforeEach
+    void setUp() {
+        author = createUser(Role.USER).getUsername();
+        a = unique("a");
+        b = unique("b");
+        c = unique("c");
+    }
+
+    @Test
+    void countsFollowCreateUpdateAndDelete() {
+        Long published = articleService.createArticle(articleRequest(unique("Publié"), true, List.of(a, b)), author).getId();
+        Long draft     = articleService.createArticle(articleRequest(unique("Brouillon"), false, List.of(a)), author).getId();
+        assertCounts(Map.of(a, 1, b, 1));
+
+        // Échange de tags sur un article publié
+        articleService.updateArticle(published, articleRequest(unique("Publié"), true, List.of(b, c)), author, null);
+        assertCounts(Map.of(a, 0, b, 1, c, 1));
+
+        // Dépublication puis publication du brouillon
+        articleService.updateArticle(published, articleRequest(unique("Publié"), false, List.of(b, c)), author, null);
+        articleService.updateArticle(draft, articleRequest(unique("Brouillon"), true, List.of(a, c)), author, null);
+        assertCounts(Map.of(a, 1, b, 0, c, 1));
+
+        articleService.deleteArticle(draft, author);
+        articleService.deleteArticle(published, author);
+        assertCounts(Map.of(a, 0, b, 0, c, 0));
+    }
+
+    @Test
+    void importedArticlesAreCounted() {
+        String ndjson = String.join("\n",
+                importLine(unique("Import"), true, a, b),
+                importLine(unique("Import"), true, a),
+                importLine(unique("Import"), false, c));
+
+        articleImportService.importArticles(
+                new ByteArrayInputStream(ndjson.getBytes(StandardCharsets.UTF_8)), author, null);
+
+        assertCounts(Map.of(a, 2, b, 1, c, 0));
+        assertThat(lastUsedAt(c)).isNull();
+    }
+
+    @Test
+    void lastUsedMovesOnlyForNewTagsOnPublishedArticles() {
+        Long id = articleService.createArticle(articleRequest(unique("Usage"), false, List.of(a)), author).getId();
+        assertThat(lastUsedAt(a)).isNull();
+
+        articleService.updateArticle(id, articleRequest(unique("Usage"), true, List.of(a)), author, null);
+        Timestamp published = lastUsedAt(a);
+        assertThat(published).isNotNull();
+
+        // Tag conservé : inchangé ; tag ajouté : daté
+        articleService.updateArticle(id, articleRequest(unique("Usage"), true, List.of(a, b)), author, null);
+        assertThat(lastUsedAt(a)).isEqualTo(published);
+        assertThat(lastUsedAt(b)).isNotNull();
+    }
+
+    @Test
+    void reconcileRepairsCorruptedCount() {
+        articleService.createArticle(articleRequest(unique("Dérive"), true, List.of(a, b)), author);
+        jdbcTemplate.update("UPDATE tags SET published_article_count = 7 WHERE name = ?", a);
+
+        assertThat(tagStatistics.reconcile()).isGreaterThanOrEqualTo(1);
+
+        assertCounts(Map.of(a, 1, b, 1));
+    }
+
+    private void assertCounts(Map<String, Integer> expected) {
+        Map<String, Integer> stored = new HashMap<>();
+        Map<String, Integer> actual = new HashMap<>();
+        jdbcTemplate.query(GROUND_TRUTH, rs -> {
+            stored.put(rs.getString("name"), rs.getInt("stored"));
+            actual.put(rs.getString("name"), rs.getInt("actual"));
+        }, (Object) expected.keySet().toArray(String[]::new));
+
+        assertThat(actual).isEqualTo(expected);
+        assertThat(stored).isEqualTo(actual);
+    }
+
+    private Timestamp lastUsedAt(String tag) {
+        return jdbcTemplate.queryForObject("SELECT last_used_at FROM tags WHERE name = ?", Timestamp.class, tag);
+    }
+
+    private static String importLine(String title, boolean published, String... tags) {
+        return "{\"title\":\"" + title + "\",\"content\":\"Contenu\",\"published\":" + published
+                + ",\"tags\":[\"" + String.join("\",\"", tags) + "\"]}";
+    }
+}
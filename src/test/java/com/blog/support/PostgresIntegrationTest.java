@@ -0,0 +1,102 @@
+package com.blog.support;
+
+import com.blog.dto.request.ArticleRequest;
+import com.blog.entity.Role;
+import com.blog.entity.User;
+import com.blog.repository.UserRepository;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.DockerClientFactory;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import jakarta.persistence.EntityManagerFactory;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Base des tests d'intégration : le schéma Liquibase et les requêtes natives exigent PostgreSQL.
+ *
+ * <p>TEST_DATABASE_URL (avec TEST_DATABASE_USERNAME / TEST_DATABASE_PASSWORD) désigne une base
+ * existante ; sinon un conteneur est démarré via Testcontainers. Sans l'un ni l'autre, les
+ * tests sont ignorés plutôt qu'en échec.
+ */
+@SpringBootTest
+@RequiresPostgres
+public abstract class PostgresIntegrationTest {
+
+    private static final String URL      = System.getenv("TEST_DATABASE_URL");
+    private static final String USERNAME = System.getenv().getOrDefault("TEST_DATABASE_USERNAME", "postgres");
+    private static final String PASSWORD = System.getenv().getOrDefault("TEST_DATABASE_PASSWORD", "");
+
+    private static PostgreSQLContainer<?> container;
+
+    @Autowired
+    protected UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    static boolean databaseAvailable() {
+        return URL != null || DockerClientFactory.instance().isDockerAvailable();
+    }
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        if (URL != null) {
+            registry.add("spring.datasource.url", () -> URL);
+            registry.add("spring.datasource.username", () -> USERNAME);
+            registry.add("spring.datasource.password", () -> PASSWORD);
+            return;
+        }
+        registry.add("spring.datasource.url", () -> container().getJdbcUrl());
+        registry.add("spring.datasource.username", () -> container().getUsername());
+        registry.add("spring.datasource.password", () -> container().getPassword());
+    }
+
+    // Un conteneur pour toute la JVM, arrêté par Testcontainers en fin de build
+    private static synchronized PostgreSQLContainer<?> container() {
+        if (container == null) {
+            container = new PostgreSQLContainer<>("postgres:16-alpine");
+            container.start();
+        }
+        return container;
+    }
+
+    // --- Données : la base est partagée entre les classes, tout est préfixé d'un suffixe unique ---
+
+    protected static String unique(String prefix) {
+        return prefix + "-" + UUID.randomUUID().toString().substring(0, 8);
+    }
+
+    protected User createUser(Role role) {
+        String username = unique("user");
+        return userRepository.save(User.builder()
+                .username(username)
+                .email(username + "@test.local")
+                .password("non-utilisé")
+                .role(role)
+                .enabled(true)
+                .build());
+    }
+
+    protected static ArticleRequest articleRequest(String title, boolean published, List<String> tags) {
+        ArticleRequest request = new ArticleRequest();
+        request.setTitle(title);
+        request.setContent("Contenu de " + title);
+        request.setSummary("Résumé");
+        request.setPublished(published);
+        request.setTags(tags);
+        return request;
+    }
+
+    /** Statistiques Hibernate remises à zéro (generate_statistics activé dans application.yml de test). */
+    protected Statistics resetStatistics() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        return statistics;
+    }
+}
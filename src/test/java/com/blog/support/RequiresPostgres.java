@@ -0,0 +1,17 @@
+package com.blog.support;
+
+import org.junit.jupiter.api.condition.EnabledIf;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/** Ignore la classe de test quand ni TEST_DATABASE_URL ni Docker ne sont disponibles. */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@Inherited
+@EnabledIf("com.blog.support.PostgresIntegrationTest#databaseAvailable")
+public @interface RequiresPostgres {
+}